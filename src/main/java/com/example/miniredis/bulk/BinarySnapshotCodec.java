@@ -0,0 +1,115 @@
+package com.example.miniredis.bulk;
+
+import com.example.miniredis.store.StoredEntry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Binary snapshot: a header, then one record per entry, then an end marker.
+ * <pre>
+ *   header  "MRSNAP" u16 version
+ *   record  u8 type | u32 keyLen | key (UTF-8) | i64 expireAt | u32 valueLen | value
+ *   end     u8 0
+ * </pre>
+ * Strings are stored as UTF-8 and {@code byte[]} values as-is; any other value (numbers, maps
+ * from the JSON API) as its JSON encoding.
+ */
+final class BinarySnapshotCodec {
+
+    private static final byte[] MAGIC = "MRSNAP".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 1;
+
+    private static final int END = 0;
+    private static final int TYPE_STRING = 1;
+    private static final int TYPE_BYTES = 2;
+    private static final int TYPE_JSON = 3;
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private BinarySnapshotCodec() {
+    }
+
+    static EntryWriter writer(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 64 * 1024));
+        data.write(MAGIC);
+        data.writeShort(VERSION);
+        return new EntryWriter() {
+            @Override
+            public void write(StoredEntry<String, Object> entry) throws IOException {
+                Object value = entry.value();
+                int type;
+                byte[] encoded;
+                if (value instanceof byte[] bytes) {
+                    type = TYPE_BYTES;
+                    encoded = bytes;
+                } else if (value instanceof String text) {
+                    type = TYPE_STRING;
+                    encoded = text.getBytes(StandardCharsets.UTF_8);
+                } else {
+                    type = TYPE_JSON;
+                    encoded = mapper.writeValueAsBytes(value);
+                }
+                byte[] key = entry.key().getBytes(StandardCharsets.UTF_8);
+                data.writeByte(type);
+                data.writeInt(key.length);
+                data.write(key);
+                data.writeLong(entry.expireAt());
+                data.writeInt(encoded.length);
+                data.write(encoded);
+            }
+
+            @Override
+            public void finish() throws IOException {
+                data.writeByte(END);
+                data.flush();
+            }
+        };
+    }
+
+    static EntryReader reader(InputStream in, int maxRecordBytes) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, 64 * 1024));
+        byte[] magic = new byte[MAGIC.length];
+        data.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) throw new IllegalArgumentException("Not a Mini-Redis snapshot");
+        int version = data.readUnsignedShort();
+        if (version != VERSION) throw new IllegalArgumentException("Unsupported snapshot version " + version);
+        return () -> {
+            int type = data.readUnsignedByte();
+            if (type == END) return null;
+            String key = new String(readBlock(data, maxRecordBytes), StandardCharsets.UTF_8);
+            long expireAt = data.readLong();
+            byte[] encoded = readBlock(data, maxRecordBytes);
+            Object value = switch (type) {
+                case TYPE_BYTES -> encoded;
+                case TYPE_STRING -> new String(encoded, StandardCharsets.UTF_8);
+                case TYPE_JSON -> readJson(encoded);
+                default -> throw new IllegalArgumentException("Corrupt snapshot: unknown record type " + type);
+            };
+            return new StoredEntry<>(key, value, expireAt);
+        };
+    }
+
+    private static Object readJson(byte[] encoded) throws IOException {
+        try {
+            return mapper.readValue(encoded, Object.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Corrupt snapshot: malformed JSON value: " + e.getOriginalMessage());
+        }
+    }
+
+    // the length is untrusted input, so it is checked before anything is allocated
+    private static byte[] readBlock(DataInputStream data, int maxRecordBytes) throws IOException {
+        int length = data.readInt();
+        if (length < 0) throw new IllegalArgumentException("Corrupt snapshot: negative length");
+        if (length > maxRecordBytes) {
+            throw new IllegalArgumentException("record of " + length + " bytes exceeds the " + maxRecordBytes + " byte limit");
+        }
+        byte[] block = new byte[length];
+        data.readFully(block);
+        return block;
+    }
+}
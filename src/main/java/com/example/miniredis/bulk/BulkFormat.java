@@ -0,0 +1,52 @@
+package com.example.miniredis.bulk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Wire formats for bulk export/import.
+ */
+public enum BulkFormat {
+
+    /**
+     * One JSON object per line: {@code {"key":..,"value":..,"expireAt":..}}. Binary values
+     * use {@code "valueBase64"} instead of {@code "value"}.
+     */
+    NDJSON("application/x-ndjson"),
+
+    /**
+     * Compact length-prefixed records; binary values are written as-is.
+     */
+    BINARY("application/octet-stream");
+
+    private final String contentType;
+
+    BulkFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public EntryWriter writer(OutputStream out) throws IOException {
+        return this == NDJSON ? NdjsonCodec.writer(out) : BinarySnapshotCodec.writer(out);
+    }
+
+    /**
+     * Records (a binary key or value, or an NDJSON line) longer than {@code maxRecordBytes} are
+     * rejected before they are buffered.
+     */
+    public EntryReader reader(InputStream in, int maxRecordBytes) throws IOException {
+        return this == NDJSON ? NdjsonCodec.reader(in, maxRecordBytes) : BinarySnapshotCodec.reader(in, maxRecordBytes);
+    }
+
+    public static BulkFormat parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown bulk format: " + name + " (expected ndjson or binary)");
+        }
+    }
+}
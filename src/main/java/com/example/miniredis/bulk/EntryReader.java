@@ -0,0 +1,12 @@
+package com.example.miniredis.bulk;
+
+import com.example.miniredis.store.StoredEntry;
+
+import java.io.IOException;
+
+public interface EntryReader {
+    /**
+     * Next entry, or null at the end of the stream.
+     */
+    StoredEntry<String, Object> next() throws IOException;
+}
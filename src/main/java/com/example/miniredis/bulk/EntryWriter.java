@@ -0,0 +1,14 @@
+package com.example.miniredis.bulk;
+
+import com.example.miniredis.store.StoredEntry;
+
+import java.io.IOException;
+
+public interface EntryWriter {
+    void write(StoredEntry<String, Object> entry) throws IOException;
+
+    /**
+     * Write any trailer and flush; does not close the underlying stream.
+     */
+    void finish() throws IOException;
+}
@@ -0,0 +1,123 @@
+package com.example.miniredis.bulk;
+
+import com.example.miniredis.store.KeyspaceTable;
+import com.example.miniredis.store.StoredEntry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Newline-delimited JSON, one entry per line. Values go through Jackson the same way as the JSON
+ * API, so an export can be replayed into any node; {@code byte[]} values are base64-encoded.
+ */
+final class NdjsonCodec {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private NdjsonCodec() {
+    }
+
+    static EntryWriter writer(OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        return new EntryWriter() {
+            @Override
+            public void write(StoredEntry<String, Object> entry) throws IOException {
+                ObjectNode node = mapper.createObjectNode();
+                node.put("key", entry.key());
+                if (entry.value() instanceof byte[] bytes) {
+                    node.put("valueBase64", Base64.getEncoder().encodeToString(bytes));
+                } else {
+                    node.set("value", mapper.valueToTree(entry.value()));
+                }
+                node.put("expireAt", entry.expireAt());
+                writer.write(mapper.writeValueAsString(node));
+                writer.write('\n');
+            }
+
+            @Override
+            public void finish() throws IOException {
+                writer.flush();
+            }
+        };
+    }
+
+    static EntryReader reader(InputStream in, int maxRecordBytes) {
+        Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+        return new EntryReader() {
+            private final char[] chunk = new char[64 * 1024];
+            private int position, limit;
+            private final StringBuilder line = new StringBuilder();
+            private long lineNumber;
+
+            @Override
+            public StoredEntry<String, Object> next() throws IOException {
+                String line;
+                do {
+                    line = readLine();
+                    if (line == null) return null;
+                    lineNumber++;
+                } while (line.isBlank());
+
+                JsonNode node;
+                Object value;
+                try {
+                    node = mapper.readTree(line);
+                    if (node.has("valueBase64")) {
+                        value = Base64.getDecoder().decode(node.get("valueBase64").asText());
+                    } else if (node.has("value")) {
+                        value = mapper.treeToValue(node.get("value"), Object.class);
+                    } else {
+                        throw new IllegalArgumentException("line " + lineNumber + ": missing \"value\"");
+                    }
+                } catch (JsonProcessingException e) {
+                    throw new IllegalArgumentException("line " + lineNumber + ": malformed JSON: " + e.getOriginalMessage());
+                }
+                JsonNode key = node.get("key");
+                if (key == null || !key.isTextual()) {
+                    throw new IllegalArgumentException("line " + lineNumber + ": missing \"key\"");
+                }
+                long expireAt = node.path("expireAt").asLong(KeyspaceTable.NO_EXPIRY);
+                return new StoredEntry<>(key.asText(), value, expireAt);
+            }
+
+            // like BufferedReader.readLine(), but gives up on a line longer than the record limit
+            // instead of buffering all of it
+            private String readLine() throws IOException {
+                line.setLength(0);
+                boolean eof = false;
+                while (true) {
+                    if (position == limit) {
+                        limit = reader.read(chunk);
+                        position = 0;
+                        if (limit <= 0) {
+                            limit = 0;
+                            eof = true;
+                            break;
+                        }
+                    }
+                    int newline = position;
+                    while (newline < limit && chunk[newline] != '\n') newline++;
+                    if (line.length() + (newline - position) > maxRecordBytes) {
+                        throw new IllegalArgumentException("line " + (lineNumber + 1) + " exceeds the "
+                                + maxRecordBytes + " byte record limit");
+                    }
+                    line.append(chunk, position, newline - position);
+                    position = newline;
+                    if (newline < limit) {
+                        position++; // past the newline
+                        break;
+                    }
+                }
+                if (eof && line.isEmpty()) return null;
+                int end = line.length();
+                if (end > 0 && line.charAt(end - 1) == '\r') end--;
+                return line.substring(0, end);
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.miniredis.client;
+
+import com.example.miniredis.service.BulkTransferService;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Seed or migrate a node from the command line. Both directions stream between the file and the
+ * server, so file size is not limited by client memory.
+ * <pre>
+ *   BulkTransferCLI export http://source:8080 dump.ndjson [ndjson|binary]
+ *   BulkTransferCLI import http://target:8080 dump.ndjson [ndjson|binary] [batchSize]
+ * </pre>
+ */
+public class BulkTransferCLI {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 3) {
+            System.out.println("Usage: BulkTransferCLI export|import <baseUrl> <file> [ndjson|binary] [batchSize]");
+            return;
+        }
+        String mode = args[0].toLowerCase();
+        String baseUrl = args[1].endsWith("/") ? args[1].substring(0, args[1].length() - 1) : args[1];
+        Path file = Path.of(args[2]);
+        String format = args.length > 3 ? args[3] : formatFor(file);
+        int batchSize = args.length > 4 ? Integer.parseInt(args[4]) : BulkTransferService.DEFAULT_BATCH_SIZE;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long start = System.currentTimeMillis();
+        switch (mode) {
+            case "export" -> {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/cache/export?format=" + format)).GET().build();
+                HttpResponse<Path> response = client.send(request, HttpResponse.BodyHandlers.ofFile(file));
+                check(response.statusCode());
+                System.out.printf("Exported %,d bytes to %s in %d ms%n",
+                        Files.size(file), file, System.currentTimeMillis() - start);
+            }
+            case "import" -> {
+                HttpRequest request = HttpRequest.newBuilder(
+                                URI.create(baseUrl + "/cache/import?format=" + format + "&batchSize=" + batchSize))
+                        .header("Content-Type", "application/octet-stream")
+                        .POST(HttpRequest.BodyPublishers.ofFile(file))
+                        .build();
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                check(response.statusCode());
+                System.out.println("Imported from " + file + " in " + (System.currentTimeMillis() - start) + " ms: " + response.body());
+            }
+            default -> System.out.println("Unknown mode: " + mode + " (expected export or import)");
+        }
+    }
+
+    private static String formatFor(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl") ? "ndjson" : "binary";
+    }
+
+    private static void check(int status) throws IOException {
+        if (status / 100 != 2) throw new IOException("Server returned HTTP " + status);
+    }
+}
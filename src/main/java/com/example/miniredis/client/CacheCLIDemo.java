@@ -1,6 +1,8 @@
 package com.example.miniredis.client;
 
-import com.example.miniredis.models.CacheValue;
+import com.example.miniredis.client.loadgen.CacheLoadGenerator;
+import com.example.miniredis.client.loadgen.LoadOptions;
+import com.example.miniredis.client.loadgen.LoadTarget;
 import com.example.miniredis.persistence.PersistenceManager;
 import com.example.miniredis.store.CacheStore;
 import com.example.miniredis.strategy.EvictionPolicy;
@@ -23,7 +25,7 @@ public class CacheCLIDemo {
 
         Scanner scanner = new Scanner(System.in);
         System.out.println("=== Mini-Redis CLI Demo ===");
-        System.out.println("Commands: SET key value, GET key, DELETE key, TTL key, STATS, MULTI, EXIT");
+        System.out.println("Commands: SET key value, GET key, DELETE key, TTL key, STATS, MULTI, BENCH [--option=value ...], EXIT");
 
         while (true) {
             System.out.print("> ");
@@ -71,20 +73,19 @@ public class CacheCLIDemo {
                             System.out.println("Usage: TTL key");
                             break;
                         }
-                        CacheValue<String> wrapper = cacheStore.getCache().get(parts[1]);
-                        if (wrapper != null) {
-                            long ttlRemaining = wrapper.getTtlMillis() - (System.currentTimeMillis() - wrapper.getCreationTime());
-                            System.out.println(ttlRemaining > 0 ?
-                                    ttlRemaining + " ms remaining" :
-                                    AnsiColors.CYAN + "Expired" + AnsiColors.RESET);
-                        } else {
+                        long ttlRemaining = cacheStore.ttlMillis(parts[1]);
+                        if (ttlRemaining == -2) {
                             System.out.println("Key not found");
+                        } else if (ttlRemaining == -1) {
+                            System.out.println("No TTL");
+                        } else {
+                            System.out.println(ttlRemaining + " ms remaining");
                         }
                         break;
 
                     case "STATS":
                         System.out.println("Cache Stats:");
-                        System.out.println("Size: " + cacheStore.getCache().size());
+                        System.out.println("Size: " + cacheStore.size());
                         System.out.println("Keys: " + cacheStore.listKeys());
                         break;
 
@@ -92,6 +93,10 @@ public class CacheCLIDemo {
                         runMultiThreadDemo(cacheStore);
                         break;
 
+                    case "BENCH":
+                        runBenchmark(input.substring(command.length()).trim());
+                        break;
+
                     case "EXIT":
                         cacheStore.shutdown();
                         System.out.println("Exiting CLI demo.");
@@ -129,6 +134,19 @@ public class CacheCLIDemo {
         System.out.println("Final Cache Keys: " + cacheStore.listKeys());
     }
 
+    /**
+     * Runs the load generator with its own store (or against a server with --target=http),
+     * so the tiny demo store above is left untouched.
+     */
+    private static void runBenchmark(String args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args.isEmpty() ? new String[0] : args.split("\\s+"));
+        System.out.println("=== Running Load Generator ===");
+        try (LoadTarget target = CacheLoadGenerator.createTarget(options)) {
+            System.out.println("Target: " + target.describe());
+            new CacheLoadGenerator(options, target).run().print(System.out);
+        }
+    }
+
     private static void writerTask(String name, CacheStore<String, String> cacheStore) {
         String[] keys = {"A", "B", "C"};
         String[] values = {"A-Value", "B-Value", "C-Value"};
@@ -0,0 +1,108 @@
+package com.example.miniredis.client.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compares the raw {@code /cache/raw/{key}} endpoints with the JSON API for opaque binary values.
+ * The JSON side does what a client has to do with a blob: base64 it into the request and decode
+ * it from the response.
+ * <p>
+ * Usage: {@code java ... BinaryValueBenchmark [baseUrl] [iterations]}
+ */
+public class BinaryValueBenchmark {
+
+    private static final int[] VALUE_SIZES = {1024, 16 * 1024, 256 * 1024, 1024 * 1024};
+
+    private final String baseUrl;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1) // no h2c upgrade attempt on every request
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public BinaryValueBenchmark(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "http://localhost:8080";
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        BinaryValueBenchmark benchmark = new BinaryValueBenchmark(url);
+
+        System.out.printf("%-8s %14s %14s %12s %12s%n", "size", "raw us/op", "json us/op", "raw MB/s", "json MB/s");
+        for (int size : VALUE_SIZES) {
+            byte[] value = new byte[size];
+            ThreadLocalRandom.current().nextBytes(value);
+            int n = Math.max(10, (int) ((long) iterations * 1024 / Math.max(1024, size / 16)));
+            benchmark.raw("warm", value, n / 2);
+            benchmark.json("warm", value, n / 2);
+            double raw = benchmark.raw("bin:" + size, value, n);
+            double json = benchmark.json("json:" + size, value, n);
+            System.out.printf("%-8s %14.1f %14.1f %12.1f %12.1f%n", size / 1024 + "KB", raw, json,
+                    mbPerSecond(size, raw), mbPerSecond(size, json));
+        }
+    }
+
+    /**
+     * Mean microseconds per PUT + GET round trip.
+     */
+    double raw(String key, byte[] value, int iterations) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            HttpRequest put = HttpRequest.newBuilder(URI.create(baseUrl + "/cache/raw/" + key))
+                    .header("Content-Type", "application/octet-stream")
+                    .PUT(HttpRequest.BodyPublishers.ofByteArray(value))
+                    .build();
+            expect(client.send(put, HttpResponse.BodyHandlers.discarding()).statusCode(), 201);
+            HttpRequest get = HttpRequest.newBuilder(URI.create(baseUrl + "/cache/raw/" + key)).GET().build();
+            HttpResponse<byte[]> response = client.send(get, HttpResponse.BodyHandlers.ofByteArray());
+            expect(response.statusCode(), 200);
+            verify(value, response.body());
+        }
+        return (System.nanoTime() - start) / 1e3 / iterations;
+    }
+
+    double json(String key, byte[] value, int iterations) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            String body = mapper.writeValueAsString(Map.of(
+                    "key", key, "value", Base64.getEncoder().encodeToString(value), "ttl", 0));
+            HttpRequest set = HttpRequest.newBuilder(URI.create(baseUrl + "/cache"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            expect(client.send(set, HttpResponse.BodyHandlers.discarding()).statusCode(), 201);
+            HttpRequest get = HttpRequest.newBuilder(URI.create(baseUrl + "/cache/" + key)).GET().build();
+            HttpResponse<byte[]> response = client.send(get, HttpResponse.BodyHandlers.ofByteArray());
+            expect(response.statusCode(), 200);
+            JsonNode node = mapper.readTree(response.body());
+            verify(value, Base64.getDecoder().decode(node.get("value").asText()));
+        }
+        return (System.nanoTime() - start) / 1e3 / iterations;
+    }
+
+    private static double mbPerSecond(int size, double microsPerOp) {
+        // a round trip moves the value twice
+        return 2.0 * size / (1024 * 1024) / (microsPerOp / 1e6);
+    }
+
+    private static void expect(int status, int expected) throws IOException {
+        if (status != expected) throw new IOException("Expected HTTP " + expected + ", got " + status);
+    }
+
+    private static void verify(byte[] expected, byte[] actual) throws IOException {
+        if (!Arrays.equals(expected, actual)) throw new IOException("Value mismatch after round trip");
+    }
+}
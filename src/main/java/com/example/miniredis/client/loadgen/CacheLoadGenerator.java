@@ -0,0 +1,210 @@
+package com.example.miniredis.client.loadgen;
+
+import com.example.miniredis.store.CacheStore;
+import com.example.miniredis.store.ShardedCacheStore;
+import com.example.miniredis.strategy.EvictionPolicy;
+import com.example.miniredis.strategy.LFUEvictionPolicy;
+import com.example.miniredis.strategy.LRUCachePolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * Load generator / benchmark driver.
+ * <p>
+ * Closed loop: each thread issues its next request as soon as the previous one returns
+ * (measures capacity). Open loop: requests are issued on a fixed schedule at the target rate and
+ * latency is measured from the intended start time, so a stall is charged to every request queued
+ * behind it (coordinated-omission correction). Closed-loop runs can be corrected the same way by
+ * passing {@code --expected-interval-micros}.
+ * <p>
+ * Usage: {@code java ... CacheLoadGenerator --target=store --threads=8 --skew=0.99 --mode=open --rate=50000}
+ */
+public class CacheLoadGenerator {
+
+    private static final Logger logger = Logger.getLogger(CacheLoadGenerator.class.getName());
+
+    private final LoadOptions options;
+    private final LoadTarget target;
+    private final ZipfianGenerator keyChooser;
+    private final String value;
+
+    public CacheLoadGenerator(LoadOptions options, LoadTarget target) {
+        this.options = options;
+        this.target = target;
+        this.keyChooser = new ZipfianGenerator(options.getKeys(), options.getSkew());
+        this.value = "v".repeat(options.getValueSize());
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 1 && (args[0].equals("--help") || args[0].equals("-h"))) {
+            System.out.println(LoadOptions.usage());
+            return;
+        }
+        LoadOptions options = LoadOptions.parse(args);
+        try (LoadTarget target = createTarget(options)) {
+            System.out.println("Target: " + target.describe());
+            new CacheLoadGenerator(options, target).run().print(System.out);
+        }
+    }
+
+    public static LoadTarget createTarget(LoadOptions options) {
+        switch (options.getTarget()) {
+            case "store":
+                return new StoreLoadTarget(new CacheStore<>(options.getCapacity(), policy(options), null), true);
+            case "sharded":
+                return new ShardedLoadTarget(new ShardedCacheStore<>(options.getShards(), options.getCapacity(),
+                        () -> policy(options)));
+            case "http":
+                return new HttpLoadTarget(options.getUrl());
+            default:
+                throw new IllegalArgumentException("Unknown target: " + options.getTarget());
+        }
+    }
+
+    private static EvictionPolicy<String> policy(LoadOptions options) {
+        return options.getPolicy().equals("LFU") ? new LFUEvictionPolicy<>() : new LRUCachePolicy<>();
+    }
+
+    public LoadReport run() throws InterruptedException {
+        if (options.isPreload()) preload();
+        if (options.getWarmupSeconds() > 0) runPhase(options.getWarmupSeconds());
+        return runPhase(options.getDurationSeconds());
+    }
+
+    private void preload() throws InterruptedException {
+        long count = !options.getTarget().equals("http")
+                ? Math.min(options.getKeys(), options.getCapacity())
+                : options.getKeys();
+        int threads = options.getThreads();
+        List<Thread> loaders = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int offset = t;
+            Thread loader = new Thread(() -> {
+                for (long rank = offset; rank < count; rank += threads) {
+                    try {
+                        target.set(key(rank), value, 0);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (Exception e) {
+                        logger.warning("Preload failed for " + key(rank) + ": " + e.getMessage());
+                        return;
+                    }
+                }
+            }, "loadgen-preload-" + t);
+            loaders.add(loader);
+            loader.start();
+        }
+        for (Thread loader : loaders) loader.join();
+    }
+
+    private LoadReport runPhase(int seconds) throws InterruptedException {
+        long startNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10); // let all threads start
+        long deadline = startNanos + TimeUnit.SECONDS.toNanos(seconds);
+
+        List<Worker> workers = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < options.getThreads(); t++) {
+            Worker worker = new Worker(startNanos, deadline);
+            workers.add(worker);
+            Thread thread = new Thread(worker, "loadgen-worker-" + t);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) thread.join();
+        long elapsed = System.nanoTime() - startNanos;
+
+        long gets = 0, hits = 0, sets = 0, errors = 0;
+        LatencyHistogram getLatency = new LatencyHistogram();
+        LatencyHistogram setLatency = new LatencyHistogram();
+        for (Worker w : workers) {
+            gets += w.gets;
+            hits += w.hits;
+            sets += w.sets;
+            errors += w.errors;
+            getLatency.add(w.getLatency);
+            setLatency.add(w.setLatency);
+        }
+        return new LoadReport(options, elapsed, gets, hits, sets, errors, getLatency, setLatency);
+    }
+
+    private static String key(long rank) {
+        return "key:" + rank;
+    }
+
+    private class Worker implements Runnable {
+        private final long startNanos;
+        private final long deadline;
+        private final LatencyHistogram getLatency = new LatencyHistogram();
+        private final LatencyHistogram setLatency = new LatencyHistogram();
+        private long gets, hits, sets, errors;
+
+        private Worker(long startNanos, long deadline) {
+            this.startNanos = startNanos;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            boolean open = options.getMode() == LoadOptions.Mode.OPEN;
+            // each thread carries an equal share of the open-loop rate
+            long interval = open ? Math.max(1, TimeUnit.SECONDS.toNanos(options.getThreads()) / options.getRate()) : 0;
+            long expectedInterval = TimeUnit.MICROSECONDS.toNanos(options.getExpectedIntervalMicros());
+            // stagger open-loop threads so they do not fire in lockstep
+            long next = startNanos + (open ? random.nextLong(interval) : 0);
+            parkUntil(startNanos);
+
+            while (!Thread.currentThread().isInterrupted()) {
+                long intended;
+                if (open) {
+                    intended = next;
+                    next += interval;
+                    if (intended >= deadline) break;
+                    parkUntil(intended);
+                } else {
+                    intended = System.nanoTime();
+                    if (intended >= deadline) break;
+                }
+
+                String key = key(keyChooser.next(random));
+                boolean read = random.nextDouble() < options.getReadRatio();
+                try {
+                    if (read) {
+                        if (target.get(key)) hits++;
+                        gets++;
+                    } else {
+                        long ttl = random.nextDouble() < options.getTtlRatio() ? options.getTtlMillis() : 0;
+                        target.set(key, value, ttl);
+                        sets++;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    if (errors++ == 0) logger.warning("Request failed: " + e.getMessage());
+                }
+
+                long latency = System.nanoTime() - intended;
+                LatencyHistogram histogram = read ? getLatency : setLatency;
+                if (open) {
+                    histogram.record(latency);
+                } else {
+                    histogram.recordCorrected(latency, expectedInterval);
+                }
+            }
+        }
+
+        private void parkUntil(long nanoTime) {
+            long remaining;
+            while ((remaining = nanoTime - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(remaining);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.miniredis.client.loadgen;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Drives a running Mini-Redis server through the REST API in {@code CacheController}.
+ */
+public class HttpLoadTarget implements LoadTarget {
+
+    private final String baseUrl;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public HttpLoadTarget(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    @Override
+    public boolean get(String key) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/cache/" + encode(key))).GET().build();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status == 404) return false;
+        if (status != 200) throw new IOException("GET " + key + " returned HTTP " + status);
+        return true;
+    }
+
+    @Override
+    public void set(String key, String value, long ttlMillis) throws IOException, InterruptedException {
+        // keys and values produced by the generator are plain alphanumerics, no JSON escaping needed
+        String body = "{\"key\":\"" + key + "\",\"value\":\"" + value + "\",\"ttl\":" + ttlMillis + "}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/cache"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status / 100 != 2) throw new IOException("SET " + key + " returned HTTP " + status);
+    }
+
+    @Override
+    public String describe() {
+        return "HTTP " + baseUrl;
+    }
+
+    private static String encode(String key) {
+        return URLEncoder.encode(key, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.miniredis.client.loadgen;
+
+import com.example.miniredis.models.CacheValue;
+import com.example.miniredis.store.CacheStore;
+import com.example.miniredis.strategy.EvictionPolicy;
+import com.example.miniredis.strategy.LRUCachePolicy;
+import com.example.miniredis.strategy.SampledLRUPolicy;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Measures per-key structural overhead of the keyspace (everything except the key and value
+ * objects themselves) by filling a structure and comparing retained heap before and after.
+ * <p>
+ * Usage: {@code java -Xmx6g ... KeyspaceFootprint <legacy|lru|sampled-lru> [keys]} (default 10,000,000).
+ * Run one layout per JVM; garbage left by an earlier layout skews later measurements.
+ */
+public class KeyspaceFootprint {
+
+    public static void main(String[] args) {
+        String layout = args.length > 0 ? args[0] : "sampled-lru";
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 10_000_000;
+        String[] keys = new String[count];
+        for (int i = 0; i < count; i++) keys[i] = "key:" + i;
+        String value = "value";
+
+        switch (layout) {
+            case "legacy" -> report("ConcurrentHashMap + CacheValue + LRU map (previous layout)", count, () -> {
+                Map<String, CacheValue<String>> map = new ConcurrentHashMap<>();
+                EvictionPolicy<String> policy = new LRUCachePolicy<>();
+                for (String key : keys) {
+                    map.put(key, new CacheValue<>(value, 0L));
+                    policy.keyAdded(key);
+                }
+                return new Object[]{map, policy};
+            });
+            case "lru" -> report("KeyspaceTable + LRU map", count, () -> fill(new LRUCachePolicy<>(), keys, value));
+            case "sampled-lru" -> report("KeyspaceTable + SAMPLED_LRU (inline metadata)", count,
+                    () -> fill(new SampledLRUPolicy<>(), keys, value));
+            default -> throw new IllegalArgumentException("Unknown layout: " + layout);
+        }
+    }
+
+    private static Object fill(EvictionPolicy<String> policy, String[] keys, String value) {
+        CacheStore<String, String> store = new CacheStore<>(keys.length, policy, null);
+        for (String key : keys) store.set(key, value, 0);
+        store.shutdown();
+        return store;
+    }
+
+    private static void report(String label, int count, Supplier<Object> build) {
+        long before = usedHeap();
+        Object structure = build.get();
+        long after = usedHeap();
+        System.out.printf("%s at %,d keys: %.1f bytes/key (excluding key and value objects)%n",
+                label, count, (after - before) / (double) count);
+        if (structure.hashCode() == 42) System.out.print(""); // keep the structure reachable until measured
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
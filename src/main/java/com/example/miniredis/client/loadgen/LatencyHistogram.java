@@ -0,0 +1,79 @@
+package com.example.miniredis.client.loadgen;
+
+/**
+ * Log-linear latency histogram (HdrHistogram-style buckets, ~1.6% value precision).
+ * One instance per worker thread; merged once at the end of a run, so no synchronization.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 6;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_COUNT;
+
+    private final long[] counts = new long[BUCKETS];
+    private long totalCount;
+    private long maxValue;
+
+    public void record(long valueNanos) {
+        long v = Math.max(0, valueNanos);
+        counts[index(v)]++;
+        totalCount++;
+        if (v > maxValue) maxValue = v;
+    }
+
+    /**
+     * Coordinated-omission correction for closed-loop runs: a request that took longer than the
+     * expected interval hid the requests that would have been issued meanwhile, so back-fill them.
+     */
+    public void recordCorrected(long valueNanos, long expectedIntervalNanos) {
+        record(valueNanos);
+        if (expectedIntervalNanos <= 0) return;
+        for (long missing = valueNanos - expectedIntervalNanos; missing >= expectedIntervalNanos;
+             missing -= expectedIntervalNanos) {
+            record(missing);
+        }
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) counts[i] += other.counts[i];
+        totalCount += other.totalCount;
+        maxValue = Math.max(maxValue, other.maxValue);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * Value at the given percentile (0-100), reported as the top of its bucket.
+     */
+    public long valueAtPercentile(double percentile) {
+        if (totalCount == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(totalCount * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) return Math.min(maxValue, lowerBound(i + 1) - 1);
+        }
+        return maxValue;
+    }
+
+    static int index(long v) {
+        if (v < SUB_COUNT) return (int) v;
+        int msb = 63 - Long.numberOfLeadingZeros(v);
+        int shift = msb - SUB_BITS;
+        int sub = (int) (v >>> shift) & (SUB_COUNT - 1);
+        return ((shift + 1) << SUB_BITS) + sub;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_COUNT) return index;
+        int shift = (index >>> SUB_BITS) - 1;
+        int sub = index & (SUB_COUNT - 1);
+        return ((long) (SUB_COUNT | sub)) << shift;
+    }
+}
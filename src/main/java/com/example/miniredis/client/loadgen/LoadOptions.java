@@ -0,0 +1,89 @@
+package com.example.miniredis.client.loadgen;
+
+import lombok.Data;
+
+/**
+ * Load generator settings, parsed from {@code --name=value} arguments.
+ */
+@Data
+public class LoadOptions {
+
+    public enum Mode { CLOSED, OPEN }
+
+    private String target = "store";       // store | sharded | http
+    private String url = "http://localhost:8080";
+    private int capacity = 100_000;         // in-process store only
+    private String policy = "LRU";          // in-process store only: LRU | LFU
+    private int shards = Runtime.getRuntime().availableProcessors(); // sharded target only
+
+    private int threads = 4;
+    private long keys = 100_000;
+    private int valueSize = 100;
+    private double readRatio = 0.9;
+    private double ttlRatio = 0.0;          // fraction of writes that carry a TTL
+    private long ttlMillis = 60_000;
+    private double skew = 0.99;             // Zipfian theta; 0 => uniform
+    private boolean preload = true;
+
+    private Mode mode = Mode.CLOSED;
+    private long rate = 10_000;             // open loop: target ops/sec across all threads
+    private long expectedIntervalMicros = 0; // closed loop: coordinated-omission correction, 0 => off
+    private int warmupSeconds = 2;
+    private int durationSeconds = 10;
+
+    public static LoadOptions parse(String[] args) {
+        LoadOptions options = new LoadOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "target" -> options.target = value;
+                case "url" -> options.url = value;
+                case "capacity" -> options.capacity = Integer.parseInt(value);
+                case "policy" -> options.policy = value.toUpperCase();
+                case "shards" -> options.shards = Integer.parseInt(value);
+                case "threads" -> options.threads = Integer.parseInt(value);
+                case "keys" -> options.keys = Long.parseLong(value);
+                case "value-size" -> options.valueSize = Integer.parseInt(value);
+                case "read-ratio" -> options.readRatio = Double.parseDouble(value);
+                case "ttl-ratio" -> options.ttlRatio = Double.parseDouble(value);
+                case "ttl-millis" -> options.ttlMillis = Long.parseLong(value);
+                case "skew" -> options.skew = Double.parseDouble(value);
+                case "preload" -> options.preload = Boolean.parseBoolean(value);
+                case "mode" -> options.mode = Mode.valueOf(value.toUpperCase());
+                case "rate" -> options.rate = Long.parseLong(value);
+                case "expected-interval-micros" -> options.expectedIntervalMicros = Long.parseLong(value);
+                case "warmup-seconds" -> options.warmupSeconds = Integer.parseInt(value);
+                case "duration-seconds" -> options.durationSeconds = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        options.validate();
+        return options;
+    }
+
+    void validate() {
+        if (threads <= 0) throw new IllegalArgumentException("threads must be positive");
+        if (shards <= 0) throw new IllegalArgumentException("shards must be positive");
+        if (keys <= 0) throw new IllegalArgumentException("keys must be positive");
+        if (valueSize < 0) throw new IllegalArgumentException("value-size cannot be negative");
+        if (readRatio < 0 || readRatio > 1) throw new IllegalArgumentException("read-ratio must be in [0, 1]");
+        if (ttlRatio < 0 || ttlRatio > 1) throw new IllegalArgumentException("ttl-ratio must be in [0, 1]");
+        if (mode == Mode.OPEN && rate <= 0) throw new IllegalArgumentException("rate must be positive in open-loop mode");
+        if (durationSeconds <= 0) throw new IllegalArgumentException("duration-seconds must be positive");
+    }
+
+    public static String usage() {
+        return String.join(System.lineSeparator(),
+                "Options (all --name=value):",
+                "  --target=store|sharded|http  --url=http://localhost:8080  --capacity=100000  --policy=LRU|LFU",
+                "  --shards=<cores> (sharded target)",
+                "  --threads=4  --keys=100000  --value-size=100  --read-ratio=0.9  --skew=0.99",
+                "  --ttl-ratio=0.0  --ttl-millis=60000  --preload=true",
+                "  --mode=closed|open  --rate=10000  --expected-interval-micros=0",
+                "  --warmup-seconds=2  --duration-seconds=10");
+    }
+}
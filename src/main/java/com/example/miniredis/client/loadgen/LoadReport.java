@@ -0,0 +1,61 @@
+package com.example.miniredis.client.loadgen;
+
+import lombok.Getter;
+
+import java.io.PrintStream;
+
+@Getter
+public class LoadReport {
+
+    private final LoadOptions options;
+    private final long elapsedNanos;
+    private final long gets;
+    private final long hits;
+    private final long sets;
+    private final long errors;
+    private final LatencyHistogram getLatency;
+    private final LatencyHistogram setLatency;
+
+    public LoadReport(LoadOptions options, long elapsedNanos, long gets, long hits, long sets, long errors,
+                      LatencyHistogram getLatency, LatencyHistogram setLatency) {
+        this.options = options;
+        this.elapsedNanos = elapsedNanos;
+        this.gets = gets;
+        this.hits = hits;
+        this.sets = sets;
+        this.errors = errors;
+        this.getLatency = getLatency;
+        this.setLatency = setLatency;
+    }
+
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : (gets + sets) / (elapsedNanos / 1e9);
+    }
+
+    public double getHitRatio() {
+        return gets == 0 ? 0 : (double) hits / gets;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("Mode: %s loop, %d threads, %d keys, skew=%.2f, read ratio=%.2f%n",
+                options.getMode().name().toLowerCase(), options.getThreads(), options.getKeys(),
+                options.getSkew(), options.getReadRatio());
+        out.printf("Ops: %d GET, %d SET, %d errors in %.1f s%n", gets, sets, errors, elapsedNanos / 1e9);
+        out.printf("Throughput: %.0f ops/s%n", getThroughput());
+        out.printf("Hit ratio: %.2f%%%n", getHitRatio() * 100);
+        printLatency(out, "GET", getLatency);
+        printLatency(out, "SET", setLatency);
+    }
+
+    private static void printLatency(PrintStream out, String label, LatencyHistogram h) {
+        if (h.getTotalCount() == 0) return;
+        out.printf("%s latency (us): p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f p99.99=%.1f max=%.1f%n",
+                label,
+                h.valueAtPercentile(50) / 1e3,
+                h.valueAtPercentile(90) / 1e3,
+                h.valueAtPercentile(99) / 1e3,
+                h.valueAtPercentile(99.9) / 1e3,
+                h.valueAtPercentile(99.99) / 1e3,
+                h.getMaxValue() / 1e3);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.miniredis.client.loadgen;
+
+/**
+ * What the load generator talks to: an in-process store or a running server.
+ */
+public interface LoadTarget extends AutoCloseable {
+    boolean get(String key) throws Exception;  // true on hit
+    void set(String key, String value, long ttlMillis) throws Exception;
+    String describe();
+
+    @Override
+    default void close() {
+    }
+}
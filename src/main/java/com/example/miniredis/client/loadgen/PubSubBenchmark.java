@@ -0,0 +1,94 @@
+package com.example.miniredis.client.loadgen;
+
+import com.example.miniredis.pubsub.MessageSink;
+import com.example.miniredis.pubsub.PubSubBroker;
+import com.example.miniredis.pubsub.Subscriber;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fan-out benchmark for the pub/sub broker: many in-process subscribers on one channel, a few
+ * publishers, and optionally a share of subscribers that drain far slower than the publish rate
+ * (slow consumers), which should be dropped without holding up the rest.
+ * <p>
+ * Usage: {@code java ... PubSubBenchmark [subscribers] [publishers] [seconds] [slowSubscribers] [deliveryThreads]}
+ */
+public class PubSubBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int subscribers = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int publishers = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int slow = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+
+        int deliveryThreads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        int maxPending = 1024;
+        PubSubBroker broker = new PubSubBroker(deliveryThreads, maxPending);
+        LongAdder received = new LongAdder();
+        MessageSink counting = new MessageSink() {
+            @Override
+            public void write(byte[] frame) {
+                received.increment();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        MessageSink stuck = new MessageSink() {
+            @Override
+            public void write(byte[] frame) throws IOException {
+                try {
+                    Thread.sleep(5); // a congested connection: 200 frames/s at best
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        for (int i = 0; i < subscribers; i++) {
+            Subscriber s = broker.newSubscriber(i < slow ? stuck : counting);
+            broker.subscribe(s, "bench");
+        }
+
+        long fast = subscribers - slow;
+        long maxBacklog = fast * maxPending / 2;
+        LongAdder published = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        Thread[] threads = new Thread[publishers];
+        for (int p = 0; p < publishers; p++) {
+            threads[p] = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    // keep publishers from outrunning delivery; measure sustained fan-out, not queue growth
+                    while (published.sum() * fast - received.sum() > maxBacklog && System.nanoTime() < deadline) {
+                        Thread.onSpinWait();
+                    }
+                    broker.publish("bench", "payload");
+                    published.increment();
+                }
+            }, "pubsub-bench-" + p);
+        }
+        long start = System.nanoTime();
+        for (Thread t : threads) t.start();
+        for (Thread t : threads) t.join();
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        Thread.sleep(200); // let slow-consumer disconnects finish
+        Map<String, Object> stats = broker.stats();
+        System.out.printf("subscribers=%d (slow=%d) publishers=%d deliveryThreads=%d%n",
+                subscribers, slow, publishers, deliveryThreads);
+        System.out.printf("publish:    %.0f msg/s%n", published.sum() / elapsed);
+        System.out.printf("queued:     %.0f deliveries/s%n", ((Long) stats.get("delivered")) / elapsed);
+        System.out.printf("written:    %.0f deliveries/s%n", received.sum() / elapsed);
+        System.out.printf("slow consumers dropped: %s, still subscribed: %s%n",
+                stats.get("slowConsumersDropped"), broker.channelCounts().getOrDefault("bench", 0));
+        broker.shutdown();
+    }
+}
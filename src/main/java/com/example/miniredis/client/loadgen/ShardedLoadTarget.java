@@ -0,0 +1,33 @@
+package com.example.miniredis.client.loadgen;
+
+import com.example.miniredis.store.ShardedCacheStore;
+
+public class ShardedLoadTarget implements LoadTarget {
+
+    private final ShardedCacheStore<String, String> cacheStore;
+
+    public ShardedLoadTarget(ShardedCacheStore<String, String> cacheStore) {
+        this.cacheStore = cacheStore;
+    }
+
+    @Override
+    public boolean get(String key) {
+        return cacheStore.get(key) != null;
+    }
+
+    @Override
+    public void set(String key, String value, long ttlMillis) {
+        cacheStore.set(key, value, ttlMillis);
+    }
+
+    @Override
+    public String describe() {
+        return "in-process ShardedCacheStore (shards=" + cacheStore.getShardCount()
+                + ", capacity=" + cacheStore.getMaxCapacity() + ")";
+    }
+
+    @Override
+    public void close() {
+        cacheStore.shutdown();
+    }
+}
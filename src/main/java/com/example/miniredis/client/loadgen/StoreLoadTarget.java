@@ -0,0 +1,35 @@
+package com.example.miniredis.client.loadgen;
+
+import com.example.miniredis.store.CacheStore;
+
+public class StoreLoadTarget implements LoadTarget {
+
+    private final CacheStore<String, String> cacheStore;
+    private final boolean ownsStore;
+
+    public StoreLoadTarget(CacheStore<String, String> cacheStore, boolean ownsStore) {
+        this.cacheStore = cacheStore;
+        this.ownsStore = ownsStore;
+    }
+
+    @Override
+    public boolean get(String key) {
+        return cacheStore.get(key) != null;
+    }
+
+    @Override
+    public void set(String key, String value, long ttlMillis) {
+        cacheStore.set(key, value, ttlMillis);
+    }
+
+    @Override
+    public String describe() {
+        return "in-process CacheStore (capacity=" + cacheStore.getMaxCapacity()
+                + ", policy=" + cacheStore.getEvictionPolicy().name() + ")";
+    }
+
+    @Override
+    public void close() {
+        if (ownsStore) cacheStore.shutdown();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.miniredis.client.loadgen;
+
+import java.util.Random;
+
+/**
+ * Zipfian rank generator over [0, items) after Gray et al., "Quickly Generating Billion-Record
+ * Synthetic Databases" (the algorithm YCSB uses). Rank 0 is the hottest key.
+ * A skew of 0 degrades to a uniform distribution.
+ */
+public class ZipfianGenerator {
+
+    private final long items;
+    private final double theta;
+    private final double alpha;
+    private final double zetan;
+    private final double eta;
+    private final double halfPowTheta;
+
+    public ZipfianGenerator(long items, double theta) {
+        if (items <= 0) throw new IllegalArgumentException("items must be positive");
+        if (theta < 0 || theta >= 1) throw new IllegalArgumentException("skew must be in [0, 1)");
+        this.items = items;
+        this.theta = theta;
+        this.alpha = 1.0 / (1.0 - theta);
+        this.zetan = zeta(items, theta);
+        double zeta2 = zeta(Math.min(2, items), theta);
+        this.eta = items < 2 ? 0 : (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2 / zetan);
+        this.halfPowTheta = Math.pow(0.5, theta);
+    }
+
+    public long next(Random random) {
+        if (theta == 0) return (long) (random.nextDouble() * items);
+        double u = random.nextDouble();
+        double uz = u * zetan;
+        if (uz < 1.0) return 0;
+        if (uz < 1.0 + halfPowTheta) return Math.min(1, items - 1);
+        long rank = (long) (items * Math.pow(eta * u - eta + 1, alpha));
+        return Math.min(rank, items - 1);
+    }
+
+    private static double zeta(long n, double theta) {
+        double sum = 0;
+        for (long i = 1; i <= n; i++) sum += 1.0 / Math.pow(i, theta);
+        return sum;
+    }
+}
@@ -1,19 +1,40 @@
 package com.example.miniredis.config;
 
+import com.example.miniredis.monitoring.HotKeyTracker;
+import com.example.miniredis.monitoring.MemoryGuard;
+import com.example.miniredis.monitoring.SlowLog;
 import com.example.miniredis.persistence.InMemoryPersistenceManager;
 import com.example.miniredis.persistence.PersistenceManager;
+import com.example.miniredis.pubsub.PubSubBroker;
 import com.example.miniredis.store.CacheStore;
 import com.example.miniredis.strategy.EvictionPolicy;
+import com.example.miniredis.strategy.LFUEvictionPolicy;
 import com.example.miniredis.strategy.LRUCachePolicy;
+import com.example.miniredis.strategy.SampledLFUPolicy;
+import com.example.miniredis.strategy.SampledLRUPolicy;
+import com.example.miniredis.tier.MappedFileOverflowTier;
+import com.example.miniredis.tier.OverflowTier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.nio.file.Path;
+
 @Configuration
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
     @Bean
-    public EvictionPolicy<String> evictionPolicy() {
-        return new LRUCachePolicy<>(); // swap for LFUCachePolicy<>()
+    public EvictionPolicy<String> evictionPolicy(CacheProperties properties) {
+        return switch (properties.getEvictionPolicy().toUpperCase()) {
+            case "LRU" -> new LRUCachePolicy<>();
+            case "LFU" -> new LFUEvictionPolicy<>();
+            // approximated policies keep their state inline in the keyspace table (lowest memory per key)
+            case "SAMPLED_LRU" -> new SampledLRUPolicy<>(properties.getEvictionSamples());
+            case "SAMPLED_LFU" -> new SampledLFUPolicy<>(properties.getEvictionSamples(), 10, 1);
+            default -> throw new IllegalArgumentException("Unknown cache.eviction-policy: " + properties.getEvictionPolicy());
+        };
     }
 
     @Bean
@@ -24,8 +45,46 @@ public class CacheConfig {
 
     @Bean
     public CacheStore<String, Object> cacheStore(EvictionPolicy<String> evictionPolicy,
-                                                 PersistenceManager<String, Object> persistenceManager) {
-        // 100 default capacity — tune as needed or expose as config property
-        return new CacheStore<>(100, evictionPolicy, persistenceManager);
+                                                 PersistenceManager<String, Object> persistenceManager,
+                                                 CacheProperties properties) {
+        CacheProperties.Overflow overflow = properties.getOverflow();
+        OverflowTier<String, Object> overflowTier = overflow.isEnabled()
+                ? new MappedFileOverflowTier<>(Path.of(overflow.getPath()), overflow.getCapacityBytes())
+                : null;
+        CacheStore<String, Object> store = new CacheStore<>(properties.getMaxCapacity(), evictionPolicy,
+                persistenceManager, overflowTier,
+                CacheStore.LoadMode.valueOf(properties.getPersistence().getLoadMode().toUpperCase()));
+
+        CacheProperties.HotKeys hotkeys = properties.getHotkeys();
+        if (hotkeys.isEnabled()) {
+            store.setHotKeyTracker(new HotKeyTracker<>(hotkeys.getTopK(), hotkeys.getSampleRate(),
+                    hotkeys.getSketchWidth(), hotkeys.getSketchDepth(), hotkeys.getDecayIntervalMillis()));
+        }
+
+        CacheProperties.SlowLog slowlog = properties.getSlowlog();
+        if (slowlog.isEnabled()) {
+            store.setSlowLog(new SlowLog(slowlog.getMaxLen(), slowlog.getThresholdMicros()));
+        }
+        return store;
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(prefix = "cache.memory", name = "enabled", havingValue = "true")
+    public MemoryGuard memoryGuard(CacheStore<String, Object> cacheStore, CacheProperties properties) {
+        CacheProperties.Memory memory = properties.getMemory();
+        MemoryGuard guard = new MemoryGuard(memory.getSoftThreshold(), memory.getHardThreshold(),
+                memory.getMinEvictBatch(), memory.getMaxEvictBatch(),
+                MemoryGuard.CriticalAction.valueOf(memory.getCriticalAction().toUpperCase()),
+                memory.getThrottleMillis(), memory.getCheckIntervalMillis());
+        cacheStore.setMemoryGuard(guard);
+        guard.start();
+        return guard;
+    }
+
+    @Bean
+    public PubSubBroker pubSubBroker(CacheProperties properties) {
+        CacheProperties.PubSub pubsub = properties.getPubsub();
+        return new PubSubBroker(pubsub.getDeliveryThreads(), pubsub.getMaxPendingPerSubscriber(),
+                pubsub.getWriteTimeoutMillis());
     }
 }
@@ -0,0 +1,85 @@
+package com.example.miniredis.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tunables bound from {@code cache.*} in application.properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "cache")
+public class CacheProperties {
+
+    private int maxCapacity = 100;         // keys held in memory before the eviction policy kicks in
+    private String evictionPolicy = "LRU"; // LRU | LFU | SAMPLED_LRU | SAMPLED_LFU
+    private int evictionSamples = 5;       // keys sampled per eviction by the SAMPLED_* policies
+
+    private Overflow overflow = new Overflow();
+    private HotKeys hotkeys = new HotKeys();
+    private SlowLog slowlog = new SlowLog();
+    private PubSub pubsub = new PubSub();
+    private Memory memory = new Memory();
+    private Transactions transactions = new Transactions();
+    private Persistence persistence = new Persistence();
+    private Bulk bulk = new Bulk();
+
+    @Data
+    public static class Overflow {
+        private boolean enabled = false;
+        private String path = System.getProperty("java.io.tmpdir") + "/mini-redis-overflow.log";
+        private int capacityBytes = 64 * 1024 * 1024;
+    }
+
+    @Data
+    public static class HotKeys {
+        private boolean enabled = true;
+        private int topK = 20;
+        private int sampleRate = 16; // record 1 in N accesses
+        private int sketchWidth = 2048;
+        private int sketchDepth = 4;
+        private long decayIntervalMillis = 10_000;
+    }
+
+    @Data
+    public static class SlowLog {
+        private boolean enabled = true;
+        private long thresholdMicros = 1_000;
+        private int maxLen = 128;
+    }
+
+    @Data
+    public static class PubSub {
+        private int deliveryThreads = Runtime.getRuntime().availableProcessors();
+        private int maxPendingPerSubscriber = 1024; // queued frames before a subscriber is dropped as slow
+        private long writeTimeoutMillis = 5_000;    // a write blocked this long (stuck socket) drops the subscriber
+    }
+
+    @Data
+    public static class Memory {
+        private boolean enabled = false;   // opt-in: under heap pressure it evicts and holds back writes
+        private double softThreshold = 0.80;   // live heap fraction that starts proactive eviction
+        private double hardThreshold = 0.92;   // live heap fraction that refuses or throttles writes
+        private int minEvictBatch = 1;
+        private int maxEvictBatch = 10_000;
+        private String criticalAction = "THROTTLE"; // THROTTLE | REJECT (HTTP 503)
+        private long throttleMillis = 5;
+        private long checkIntervalMillis = 1_000;
+    }
+
+    @Data
+    public static class Transactions {
+        private long idleTimeoutMillis = 30_000; // open MULTI sessions untouched this long are discarded
+        private int maxQueuedCommands = 10_000;
+    }
+
+    @Data
+    public static class Persistence {
+        private String loadMode = "EAGER"; // EAGER | LAZY (serve at once, fault entries in from the snapshot)
+    }
+
+    @Data
+    public static class Bulk {
+        private int maxBatchSize = 10_000; // larger client-requested import batches are clamped to this
+        private int maxRecordBytes = 16 * 1024 * 1024; // a longer key, value or NDJSON line fails the import
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.miniredis.controller;
+
+import com.example.miniredis.bulk.BulkFormat;
+import com.example.miniredis.dtos.ImportResult;
+import com.example.miniredis.service.BulkTransferService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/cache")
+public class BulkTransferController {
+
+    private final BulkTransferService bulkTransferService;
+
+    public BulkTransferController(BulkTransferService bulkTransferService) {
+        this.bulkTransferService = bulkTransferService;
+    }
+
+    /**
+     * Stream the whole keyspace straight to the response; nothing is buffered beyond one batch.
+     */
+    @GetMapping("/export")
+    public void export(@RequestParam(defaultValue = "ndjson") String format,
+                       HttpServletResponse response) throws IOException {
+        BulkFormat bulkFormat = BulkFormat.parse(format);
+        response.setContentType(bulkFormat.contentType());
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"mini-redis-export." + bulkFormat.name().toLowerCase() + "\"");
+        bulkTransferService.export(bulkFormat, response.getOutputStream());
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<ImportResult> importEntries(@RequestParam(defaultValue = "ndjson") String format,
+                                                      @RequestParam(defaultValue = "" + BulkTransferService.DEFAULT_BATCH_SIZE) int batchSize,
+                                                      InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkTransferService.importFrom(BulkFormat.parse(format), body, batchSize));
+    }
+}
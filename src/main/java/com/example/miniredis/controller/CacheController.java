@@ -2,11 +2,15 @@ package com.example.miniredis.controller;
 
 import com.example.miniredis.dtos.CacheRequest;
 import com.example.miniredis.dtos.CacheResponse;
+import com.example.miniredis.dtos.HotKey;
+import com.example.miniredis.dtos.SlowLogEntry;
 import com.example.miniredis.service.CacheService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -14,6 +18,8 @@ import java.util.Set;
 @RequestMapping("/cache")
 public class CacheController<V> {
 
+    public static final String TTL_HEADER = "X-Cache-TTL"; // milliseconds, for the raw endpoints
+
     private final CacheService<String, V> cacheService;
 
     public CacheController(CacheService<String, V> cacheService) {
@@ -39,6 +45,32 @@ public class CacheController<V> {
         return ResponseEntity.ok("Deleted key: " + key);
     }
 
+    /**
+     * Store the request body as an opaque {@code byte[]}; no JSON or base64 on the way in.
+     */
+    @PutMapping(value = "/raw/{key}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Void> setRaw(@PathVariable String key,
+                                       @RequestBody byte[] value,
+                                       @RequestHeader(name = TTL_HEADER, defaultValue = "0") long ttlMillis) {
+        cacheService.setRaw(key, value, ttlMillis);
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+
+    /**
+     * Write a binary value straight from the stored array. Values set through the JSON API are
+     * not binary and get 406.
+     */
+    @GetMapping(value = "/raw/{key}", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getRaw(@PathVariable String key) {
+        V value = cacheService.get(key);
+        if (value == null) return ResponseEntity.notFound().build();
+        if (!(value instanceof byte[] bytes)) return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(bytes.length)
+                .body(bytes);
+    }
+
     @GetMapping("/keys")
     public ResponseEntity<Set<String>> listKeys() {
         return ResponseEntity.ok(cacheService.listKeys());
@@ -48,4 +80,33 @@ public class CacheController<V> {
     public ResponseEntity<Map<String, Object>> stats() {
         return ResponseEntity.ok(cacheService.getStats());
     }
+
+    /**
+     * Readiness probe. The node serves traffic while a lazy snapshot load is running, so this is
+     * 200 with the load progress unless {@code requireLoaded} asks for 503 until it has finished.
+     * Entries a finished load could not read or fit in memory are reported in the body, not as 503.
+     */
+    @GetMapping("/ready")
+    public ResponseEntity<Map<String, Object>> ready(@RequestParam(defaultValue = "false") boolean requireLoaded) {
+        Map<String, Object> progress = cacheService.getLoadProgress();
+        boolean loading = (Boolean) progress.get("loading");
+        return ResponseEntity.status(requireLoaded && loading ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK)
+                .body(progress);
+    }
+
+    @GetMapping("/hotkeys")
+    public ResponseEntity<List<HotKey<String>>> hotKeys() {
+        return ResponseEntity.ok(cacheService.getHotKeys());
+    }
+
+    @GetMapping("/slowlog")
+    public ResponseEntity<List<SlowLogEntry>> slowLog(@RequestParam(defaultValue = "10") int count) {
+        return ResponseEntity.ok(cacheService.getSlowLog(count));
+    }
+
+    @DeleteMapping("/slowlog")
+    public ResponseEntity<String> resetSlowLog() {
+        cacheService.resetSlowLog();
+        return ResponseEntity.ok("Slow log reset");
+    }
 }
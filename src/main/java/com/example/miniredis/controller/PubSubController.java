@@ -0,0 +1,49 @@
+package com.example.miniredis.controller;
+
+import com.example.miniredis.service.PubSubService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/pubsub")
+public class PubSubController {
+
+    private final PubSubService pubSubService;
+
+    public PubSubController(PubSubService pubSubService) {
+        this.pubSubService = pubSubService;
+    }
+
+    @PostMapping("/{channel}")
+    public ResponseEntity<Map<String, Object>> publish(@PathVariable String channel,
+                                                       @RequestBody(required = false) String message) {
+        int receivers = pubSubService.publish(channel, message);
+        return ResponseEntity.ok(Map.of("channel", channel, "receivers", receivers));
+    }
+
+    @GetMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(name = "channel", defaultValue = "") List<String> channels,
+                                @RequestParam(name = "pattern", defaultValue = "") List<String> patterns) throws IOException {
+        return pubSubService.subscribe(nonBlank(channels), nonBlank(patterns));
+    }
+
+    @GetMapping("/channels")
+    public ResponseEntity<Map<String, Integer>> channels() {
+        return ResponseEntity.ok(pubSubService.channels());
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> stats() {
+        return ResponseEntity.ok(pubSubService.getStats());
+    }
+
+    private static List<String> nonBlank(List<String> values) {
+        return values.stream().filter(v -> !v.isBlank()).toList();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.miniredis.controller;
+
+import com.example.miniredis.dtos.CommandRequest;
+import com.example.miniredis.dtos.ExecResult;
+import com.example.miniredis.service.TransactionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/cache")
+public class TransactionController {
+
+    private final TransactionService transactionService;
+
+    public TransactionController(TransactionService transactionService) {
+        this.transactionService = transactionService;
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ExecResult> batch(@RequestBody List<CommandRequest> commands) {
+        return ResponseEntity.ok(transactionService.batch(commands));
+    }
+
+    @PostMapping("/tx")
+    public ResponseEntity<Map<String, String>> multi() {
+        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("id", transactionService.begin()));
+    }
+
+    @PostMapping("/tx/{id}/watch")
+    public ResponseEntity<String> watch(@PathVariable String id, @RequestBody List<String> keys) {
+        transactionService.watch(id, keys);
+        return ResponseEntity.ok("Watching " + keys.size() + " keys");
+    }
+
+    @PostMapping("/tx/{id}/commands")
+    public ResponseEntity<Map<String, Integer>> queue(@PathVariable String id, @RequestBody List<CommandRequest> commands) {
+        return ResponseEntity.ok(Map.of("queued", transactionService.queue(id, commands)));
+    }
+
+    /**
+     * 200 with one result per queued command, or 409 when a watched key changed and nothing ran.
+     */
+    @PostMapping("/tx/{id}/exec")
+    public ResponseEntity<ExecResult> exec(@PathVariable String id) {
+        ExecResult result = transactionService.exec(id);
+        return ResponseEntity.status(result.isExecuted() ? HttpStatus.OK : HttpStatus.CONFLICT).body(result);
+    }
+
+    @DeleteMapping("/tx/{id}")
+    public ResponseEntity<String> discard(@PathVariable String id) {
+        transactionService.discard(id);
+        return ResponseEntity.ok("Discarded transaction: " + id);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.miniredis.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommandRequest {
+    private String op;     // SET | GET | DELETE | RENAME | EXISTS | PTTL
+    private String key;
+    private String target; // RENAME only
+    private Object value;  // SET only
+    private long ttl;      // SET only, in milliseconds
+}
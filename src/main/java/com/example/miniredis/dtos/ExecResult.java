@@ -0,0 +1,13 @@
+package com.example.miniredis.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ExecResult {
+    private boolean executed;    // false when a watched key changed and nothing ran
+    private List<Object> results; // one per command, in order; null when not executed
+}
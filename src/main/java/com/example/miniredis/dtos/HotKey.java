@@ -0,0 +1,12 @@
+package com.example.miniredis.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class HotKey<K> {
+    private K key;
+    private long estimatedCount; // time-decayed access count, scaled by the sample rate
+    private double estimatedQps;
+}
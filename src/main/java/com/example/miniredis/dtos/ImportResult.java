@@ -0,0 +1,13 @@
+package com.example.miniredis.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ImportResult {
+    private long imported;
+    private long skippedExpired; // already past their expiry when read
+    private long batches;
+    private long elapsedMillis;
+}
@@ -0,0 +1,18 @@
+package com.example.miniredis.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SlowLogEntry {
+    private long id;
+    private long timestamp;          // epoch millis when the command finished
+    private String command;
+    private String key;
+    private long durationMicros;
+    private long lockWaitMicros;
+    private long evictionMicros;
+    private long persistenceMicros;
+    private long serializationMicros; // overflow tier spill / promotion
+}
@@ -0,0 +1,50 @@
+package com.example.miniredis.monitoring;
+
+/**
+ * Per-command stopwatch that splits a command's latency into the phases the slow log reports.
+ * Not thread-safe; one instance per command invocation.
+ */
+public class CommandTimer {
+
+    private final long startNanos = System.nanoTime();
+    private long lockWaitNanos;
+    private long evictionNanos;
+    private long persistenceNanos;
+    private long serializationNanos;
+
+    public void lockAcquired() {
+        lockWaitNanos = System.nanoTime() - startNanos;
+    }
+
+    public void addEviction(long nanos) {
+        evictionNanos += nanos;
+    }
+
+    public void addPersistence(long nanos) {
+        persistenceNanos += nanos;
+    }
+
+    public void addSerialization(long nanos) {
+        serializationNanos += nanos;
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public long getLockWaitNanos() {
+        return lockWaitNanos;
+    }
+
+    public long getEvictionNanos() {
+        return evictionNanos;
+    }
+
+    public long getPersistenceNanos() {
+        return persistenceNanos;
+    }
+
+    public long getSerializationNanos() {
+        return serializationNanos;
+    }
+}
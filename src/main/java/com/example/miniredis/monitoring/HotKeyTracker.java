@@ -0,0 +1,156 @@
+package com.example.miniredis.monitoring;
+
+import com.example.miniredis.dtos.HotKey;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Space-bounded heavy-hitters detector: a count-min sketch estimates per-key access counts
+ * and a min-heap keeps the current top-K candidates. Counts are halved every decay interval
+ * so the ranking follows recent traffic. Only 1 in {@code sampleRate} accesses is recorded,
+ * which keeps the lock off the common path.
+ */
+public class HotKeyTracker<K> {
+
+    private static final int MAX_DECAYS_PER_CALL = 64;
+
+    private final int sampleRate;
+    private final int k;
+    private final long decayIntervalMillis;
+    private final int width;
+    private final long[][] sketch;
+
+    // top-K candidates; heap head is the coldest candidate
+    private final Map<K, Candidate<K>> candidates = new HashMap<>();
+    private final PriorityQueue<Candidate<K>> heap = new PriorityQueue<>(Comparator.comparingLong(c -> c.count));
+
+    private long lastDecay;
+    // decayed length of the observed window; together with the decayed counts this gives a rate
+    private long decayedWindowMillis;
+
+    private static final class Candidate<K> {
+        private final K key;
+        private long count;
+
+        private Candidate(K key, long count) {
+            this.key = key;
+            this.count = count;
+        }
+    }
+
+    public HotKeyTracker(int k, int sampleRate, int width, int depth, long decayIntervalMillis) {
+        if (k <= 0 || sampleRate <= 0 || width <= 0 || depth <= 0 || decayIntervalMillis <= 0) {
+            throw new IllegalArgumentException("hot key tracker settings must be positive");
+        }
+        this.k = k;
+        this.sampleRate = sampleRate;
+        this.width = width;
+        this.sketch = new long[depth][width];
+        this.decayIntervalMillis = decayIntervalMillis;
+        this.lastDecay = System.currentTimeMillis();
+    }
+
+    /**
+     * Called on every key access; cheap unless the access is sampled.
+     */
+    public void recordAccess(K key) {
+        if (key == null) return;
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) return;
+        record(key, System.currentTimeMillis());
+    }
+
+    synchronized void record(K key, long now) {
+        maybeDecay(now);
+        long estimate = increment(key);
+
+        Candidate<K> candidate = candidates.get(key);
+        if (candidate != null) {
+            heap.remove(candidate);
+            candidate.count = estimate;
+            heap.add(candidate);
+            return;
+        }
+        if (candidates.size() >= k) {
+            if (heap.peek().count >= estimate) return;
+            candidates.remove(heap.poll().key);
+        }
+        candidate = new Candidate<>(key, estimate);
+        candidates.put(key, candidate);
+        heap.add(candidate);
+    }
+
+    /**
+     * Current hot keys, hottest first.
+     */
+    public synchronized List<HotKey<K>> topK() {
+        long now = System.currentTimeMillis();
+        maybeDecay(now);
+        double windowSeconds = Math.max(1L, decayedWindowMillis + (now - lastDecay)) / 1000.0;
+
+        List<Candidate<K>> sorted = new ArrayList<>(candidates.values());
+        sorted.sort(Comparator.comparingLong((Candidate<K> c) -> c.count).reversed());
+        List<HotKey<K>> result = new ArrayList<>(sorted.size());
+        for (Candidate<K> c : sorted) {
+            if (c.count == 0) continue;
+            long scaled = c.count * sampleRate;
+            result.add(new HotKey<>(c.key, scaled, scaled / windowSeconds));
+        }
+        return result;
+    }
+
+    public synchronized void reset() {
+        for (long[] row : sketch) Arrays.fill(row, 0L);
+        candidates.clear();
+        heap.clear();
+        lastDecay = System.currentTimeMillis();
+        decayedWindowMillis = 0;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    private long increment(K key) {
+        int hash = key.hashCode();
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < sketch.length; row++) {
+            int col = index(hash, row);
+            min = Math.min(min, ++sketch[row][col]);
+        }
+        return min;
+    }
+
+    private int index(int hash, int row) {
+        // murmur3 finalizer with a per-row seed
+        int h = hash ^ (0x9E3779B9 * (row + 1));
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, width);
+    }
+
+    private void maybeDecay(long now) {
+        int decays = 0;
+        while (now - lastDecay >= decayIntervalMillis && decays < MAX_DECAYS_PER_CALL) {
+            for (long[] row : sketch) {
+                for (int i = 0; i < row.length; i++) row[i] >>>= 1;
+            }
+            for (Candidate<K> c : candidates.values()) c.count >>>= 1;
+            decayedWindowMillis = (decayedWindowMillis + decayIntervalMillis) / 2;
+            lastDecay += decayIntervalMillis;
+            decays++;
+        }
+        if (decays == MAX_DECAYS_PER_CALL) {
+            // idle for a long time: everything has decayed to zero
+            lastDecay = now;
+        }
+        if (decays > 0) {
+            candidates.values().removeIf(c -> c.count == 0);
+            heap.clear();
+            heap.addAll(candidates.values());
+        }
+    }
+}
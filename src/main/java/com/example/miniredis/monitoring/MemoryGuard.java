@@ -0,0 +1,223 @@
+package com.example.miniredis.monitoring;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.*;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+import java.util.logging.Logger;
+
+/**
+ * Evicts ahead of the garbage collector. After every GC the guard takes the heap occupancy that
+ * survived the collection (the live set, not the garbage that happens to be around) and compares
+ * it with two thresholds:
+ * <ul>
+ *   <li>over {@code softThreshold}: evict a batch through the store's eviction policy, sized by the
+ *       overshoot, so the next collection finds the heap back under the soft line;</li>
+ *   <li>over {@code hardThreshold}: additionally reject or throttle writes until a later GC, or a
+ *       periodic heap check, shows the pressure is gone.</li>
+ * </ul>
+ * Eviction only frees memory once the GC has run, so the guard sizes one batch per collection
+ * instead of evicting in a loop.
+ */
+public class MemoryGuard {
+
+    private static final Logger logger = Logger.getLogger(MemoryGuard.class.getName());
+
+    private static final double HYSTERESIS = 0.05; // evict down to this much under the soft threshold
+
+    public enum Level { NORMAL, ELEVATED, CRITICAL }
+
+    public enum CriticalAction { REJECT, THROTTLE }
+
+    private final double softThreshold;
+    private final double hardThreshold;
+    private final int minEvictBatch;
+    private final int maxEvictBatch;
+    private final CriticalAction criticalAction;
+    private final long throttleMillis;
+    private final long checkIntervalMillis;
+
+    private volatile Level level = Level.NORMAL;
+    private volatile double heapRatio;           // after the last GC, or lower if a later check saw less
+    private volatile IntSupplier storeSize = () -> 0;
+    private volatile IntUnaryOperator evictor = n -> 0;
+
+    private final AtomicLong gcEvents = new AtomicLong();
+    private final AtomicLong evictionRuns = new AtomicLong();
+    private final AtomicLong evictedKeys = new AtomicLong();
+    private final AtomicLong rejectedWrites = new AtomicLong();
+    private final AtomicLong throttledWrites = new AtomicLong();
+    private volatile String lastAction = "none";
+
+    private final Map<NotificationEmitter, NotificationListener> listeners = new HashMap<>();
+    private volatile ScheduledExecutorService worker;
+
+    public MemoryGuard(double softThreshold, double hardThreshold, int minEvictBatch, int maxEvictBatch,
+                       CriticalAction criticalAction, long throttleMillis, long checkIntervalMillis) {
+        if (softThreshold <= 0 || softThreshold >= hardThreshold || hardThreshold > 1) {
+            throw new IllegalArgumentException("thresholds must satisfy 0 < soft < hard <= 1");
+        }
+        if (minEvictBatch <= 0 || maxEvictBatch < minEvictBatch) {
+            throw new IllegalArgumentException("evict batch sizes must satisfy 0 < min <= max");
+        }
+        this.softThreshold = softThreshold;
+        this.hardThreshold = hardThreshold;
+        this.minEvictBatch = minEvictBatch;
+        this.maxEvictBatch = maxEvictBatch;
+        this.criticalAction = criticalAction;
+        this.throttleMillis = throttleMillis;
+        this.checkIntervalMillis = checkIntervalMillis;
+    }
+
+    /**
+     * Connect the guard to a store: how many keys it holds, and how to evict up to n of them
+     * (returning how many went).
+     */
+    public void bind(IntSupplier storeSize, IntUnaryOperator evictor) {
+        this.storeSize = storeSize;
+        this.evictor = evictor;
+    }
+
+    /**
+     * Subscribe to GC notifications and start the periodic check.
+     */
+    public synchronized void start() {
+        if (worker != null) return;
+        worker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "cache-memory-guard");
+            t.setDaemon(true);
+            return t;
+        });
+        Set<String> heapPools = new HashSet<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) heapPools.add(pool.getName());
+        }
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (!(gc instanceof NotificationEmitter emitter)) continue;
+            NotificationListener listener = (notification, handback) -> onGcNotification(notification, heapPools);
+            emitter.addNotificationListener(listener, null, null);
+            listeners.put(emitter, listener);
+        }
+        // a write-heavy burst can leave the level raised until the next GC; this lets it drop sooner
+        worker.scheduleWithFixedDelay(this::checkHeap, checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+        logger.info("Memory guard started: soft=" + softThreshold + " hard=" + hardThreshold
+                + " action=" + criticalAction + " (" + listeners.size() + " collectors)");
+    }
+
+    /**
+     * Called by the store before every write.
+     */
+    public void admitWrite() {
+        if (level != Level.CRITICAL) return;
+        if (criticalAction == CriticalAction.REJECT) {
+            rejectedWrites.incrementAndGet();
+            throw new MemoryPressureException(String.format(
+                    "Heap at %.0f%% of max (critical threshold %.0f%%); write rejected",
+                    heapRatio * 100, hardThreshold * 100));
+        }
+        throttledWrites.incrementAndGet();
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(throttleMillis)); // give eviction and GC time
+    }
+
+    /**
+     * React to a heap occupancy reading (fraction of max heap).
+     */
+    synchronized void onHeapUsage(double ratio) {
+        heapRatio = ratio;
+        Level next = ratio >= hardThreshold ? Level.CRITICAL
+                : ratio >= softThreshold ? Level.ELEVATED
+                : Level.NORMAL;
+        if (next != level) {
+            logger.info(String.format("Memory pressure %s -> %s (heap %.0f%%)", level, next, ratio * 100));
+            level = next;
+        }
+        if (next == Level.NORMAL) return;
+
+        // assume the cache dominates the heap: shrink it by the fraction the heap is over target
+        double target = softThreshold - HYSTERESIS;
+        int size = storeSize.getAsInt();
+        int batch = (int) Math.ceil(size * (ratio - target) / ratio);
+        batch = Math.min(size, Math.max(minEvictBatch, Math.min(maxEvictBatch, batch)));
+        if (batch == 0) return;
+        int evicted = evictor.applyAsInt(batch);
+        evictionRuns.incrementAndGet();
+        evictedKeys.addAndGet(evicted);
+        lastAction = String.format("evicted %d keys at heap %.0f%% (%s)", evicted, ratio * 100, next);
+        logger.info("Memory guard " + lastAction);
+    }
+
+    private void onGcNotification(Notification notification, Set<String> heapPools) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) return;
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        long used = 0;
+        for (Map.Entry<String, MemoryUsage> pool : info.getGcInfo().getMemoryUsageAfterGc().entrySet()) {
+            if (heapPools.contains(pool.getKey())) used += pool.getValue().getUsed();
+        }
+        gcEvents.incrementAndGet();
+        double ratio = (double) used / maxHeap();
+        // notifications arrive on a JVM service thread; evict on our own
+        ScheduledExecutorService w = worker;
+        if (w != null && !w.isShutdown()) w.execute(() -> onHeapUsage(ratio));
+    }
+
+    // current usage includes garbage, so it can only prove the live set is lower than we thought
+    private void checkHeap() {
+        try {
+            double current = (double) ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / maxHeap();
+            if (level != Level.NORMAL && current < heapRatio) onHeapUsage(current);
+        } catch (Exception e) {
+            logger.warning("Memory guard check failed: " + e.getMessage());
+        }
+    }
+
+    private static long maxHeap() {
+        long max = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getMax();
+        return max > 0 ? max : Runtime.getRuntime().maxMemory();
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("level", level.name());
+        stats.put("heapRatio", Math.round(heapRatio * 1000) / 1000.0);
+        stats.put("softThreshold", softThreshold);
+        stats.put("hardThreshold", hardThreshold);
+        stats.put("criticalAction", criticalAction.name());
+        stats.put("gcEvents", gcEvents.get());
+        stats.put("evictionRuns", evictionRuns.get());
+        stats.put("evictedKeys", evictedKeys.get());
+        stats.put("rejectedWrites", rejectedWrites.get());
+        stats.put("throttledWrites", throttledWrites.get());
+        stats.put("lastAction", lastAction);
+        return stats;
+    }
+
+    public synchronized void shutdown() {
+        listeners.forEach((emitter, listener) -> {
+            try {
+                emitter.removeNotificationListener(listener);
+            } catch (ListenerNotFoundException ignored) {
+                // already gone
+            }
+        });
+        listeners.clear();
+        if (worker != null) worker.shutdownNow();
+        worker = null;
+    }
+}
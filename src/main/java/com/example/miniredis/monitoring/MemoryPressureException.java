@@ -0,0 +1,11 @@
+package com.example.miniredis.monitoring;
+
+/**
+ * A write was refused because the heap is over the guard's critical threshold.
+ */
+public class MemoryPressureException extends RuntimeException {
+
+    public MemoryPressureException(String message) {
+        super(message);
+    }
+}
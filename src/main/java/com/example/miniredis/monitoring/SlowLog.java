@@ -0,0 +1,80 @@
+package com.example.miniredis.monitoring;
+
+import com.example.miniredis.dtos.SlowLogEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free ring buffer of commands slower than a threshold (like Redis SLOWLOG).
+ * Writers claim a slot with a single getAndIncrement; when the buffer wraps, the oldest
+ * entries are overwritten.
+ */
+public class SlowLog {
+
+    private final AtomicReferenceArray<SlowLogEntry> ring;
+    private final long thresholdNanos;
+    private final AtomicLong nextId = new AtomicLong();
+    private final AtomicLong resetBarrier = new AtomicLong(); // entries with id below this are hidden
+
+    public SlowLog(int maxLen, long thresholdMicros) {
+        if (maxLen <= 0) throw new IllegalArgumentException("maxLen must be positive");
+        if (thresholdMicros < 0) throw new IllegalArgumentException("thresholdMicros cannot be negative");
+        this.ring = new AtomicReferenceArray<>(maxLen);
+        this.thresholdNanos = TimeUnit.MICROSECONDS.toNanos(thresholdMicros);
+    }
+
+    /**
+     * Record the command if it ran longer than the threshold.
+     */
+    public void recordIfSlow(String command, Object key, CommandTimer timer) {
+        long elapsed = timer.elapsedNanos();
+        if (elapsed < thresholdNanos) return;
+        long id = nextId.getAndIncrement();
+        ring.set((int) (id % ring.length()), new SlowLogEntry(
+                id,
+                System.currentTimeMillis(),
+                command,
+                String.valueOf(key),
+                micros(elapsed),
+                micros(timer.getLockWaitNanos()),
+                micros(timer.getEvictionNanos()),
+                micros(timer.getPersistenceNanos()),
+                micros(timer.getSerializationNanos())));
+    }
+
+    /**
+     * Newest entries first.
+     */
+    public List<SlowLogEntry> get(int count) {
+        long newest = nextId.get() - 1;
+        long oldest = Math.max(resetBarrier.get(), newest - ring.length() + 1);
+        List<SlowLogEntry> result = new ArrayList<>();
+        for (long id = newest; id >= oldest && result.size() < count; id--) {
+            SlowLogEntry entry = ring.get((int) (id % ring.length()));
+            // skip slots already overwritten by a newer writer, or claimed but not yet written
+            if (entry != null && entry.getId() == id) result.add(entry);
+        }
+        return result;
+    }
+
+    public int size() {
+        long visible = nextId.get() - resetBarrier.get();
+        return (int) Math.max(0, Math.min(visible, ring.length()));
+    }
+
+    public void reset() {
+        resetBarrier.set(nextId.get());
+    }
+
+    public long getThresholdMicros() {
+        return micros(thresholdNanos);
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
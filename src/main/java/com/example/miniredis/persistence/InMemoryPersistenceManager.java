@@ -1,6 +1,7 @@
 package com.example.miniredis.persistence;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -11,6 +12,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public class InMemoryPersistenceManager<K, V> implements PersistenceManager<K, V> {
 
     private final Map<K, V> storage = new ConcurrentHashMap<>();
+    private volatile Map<K, Long> evictionState = Map.of();
 
     @Override
     public void save(Map<K, V> snapshot) {
@@ -22,4 +24,23 @@ public class InMemoryPersistenceManager<K, V> implements PersistenceManager<K, V
     public Map<K, V> load() {
         return Collections.unmodifiableMap(new ConcurrentHashMap<>(storage));
     }
+
+    /**
+     * A view of the stored snapshot rather than a copy; the store does not save while it is still
+     * loading lazily, so the view stays stable for the whole load.
+     */
+    @Override
+    public SnapshotIndex<K, V> openIndex() {
+        return SnapshotIndex.of(Collections.unmodifiableMap(storage));
+    }
+
+    @Override
+    public void saveEvictionState(Map<K, Long> state) {
+        evictionState = Collections.unmodifiableMap(new LinkedHashMap<>(state));
+    }
+
+    @Override
+    public Map<K, Long> loadEvictionState() {
+        return evictionState;
+    }
 }
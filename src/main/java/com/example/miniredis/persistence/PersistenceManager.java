@@ -5,4 +5,20 @@ import java.util.Map;
 public interface PersistenceManager<K, V> {
     void save(Map<K, V> snapshot);
     Map<K, V> load();
+
+    // eviction-policy ordering/frequency, written next to each snapshot so a restart stays warm;
+    // implementations must preserve the map's iteration order
+    default void saveEvictionState(Map<K, Long> state) {
+    }
+
+    default Map<K, Long> loadEvictionState() {
+        return Map.of();
+    }
+
+    // lazy startup; the default falls back to a full load(), so only managers that can read single
+    // entries (e.g. by file offset) should override it
+    default SnapshotIndex<K, V> openIndex() {
+        Map<K, V> loaded = load();
+        return SnapshotIndex.of(loaded == null ? Map.of() : loaded);
+    }
 }
@@ -0,0 +1,29 @@
+package com.example.miniredis.persistence;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Random access to a persisted snapshot for lazy startup: the keys up front, each value on demand.
+ */
+public interface SnapshotIndex<K, V> {
+
+    Set<K> keys();
+
+    // null if the key is not in the snapshot; called from the background loader and request threads at once
+    V read(K key);
+
+    static <K, V> SnapshotIndex<K, V> of(Map<K, V> snapshot) {
+        return new SnapshotIndex<>() {
+            @Override
+            public Set<K> keys() {
+                return snapshot.keySet();
+            }
+
+            @Override
+            public V read(K key) {
+                return snapshot.get(key);
+            }
+        };
+    }
+}
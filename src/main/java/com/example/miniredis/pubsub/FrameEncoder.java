@@ -0,0 +1,42 @@
+package com.example.miniredis.pubsub;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes a published message into a complete server-sent-events frame. The broker encodes each
+ * message once and hands the same bytes to every subscriber.
+ */
+public class FrameEncoder {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    public byte[] message(String channel, String payload) {
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("channel", channel);
+        body.put("message", payload);
+        return frame("message", body);
+    }
+
+    public byte[] patternMessage(String pattern, String channel, String payload) {
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("pattern", pattern);
+        body.put("channel", channel);
+        body.put("message", payload);
+        return frame("pmessage", body);
+    }
+
+    private byte[] frame(String event, Map<String, String> body) {
+        try {
+            // JSON never contains a raw newline, so a single data line is a valid SSE frame
+            String frame = "event: " + event + "\ndata: " + mapper.writeValueAsString(body) + "\n\n";
+            return frame.getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode pub/sub message", e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.miniredis.pubsub;
+
+import java.util.regex.Pattern;
+
+/**
+ * Redis-style channel pattern ({@code *}, {@code ?}, {@code [abc]}, backslash escapes), compiled once.
+ */
+public final class GlobPattern {
+
+    private final String glob;
+    private final Pattern regex;
+
+    public GlobPattern(String glob) {
+        this.glob = glob;
+        this.regex = Pattern.compile(toRegex(glob), Pattern.DOTALL);
+    }
+
+    public String glob() {
+        return glob;
+    }
+
+    public boolean matches(String channel) {
+        return regex.matcher(channel).matches();
+    }
+
+    private static String toRegex(String glob) {
+        StringBuilder sb = new StringBuilder();
+        boolean inClass = false;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '\\' && i + 1 < glob.length()) {
+                sb.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+            } else if (inClass) {
+                // class bodies ([abc], [^a], [a-z]) share syntax with regex
+                if (c == ']') inClass = false;
+                sb.append(c);
+            } else if (c == '*') {
+                sb.append(".*");
+            } else if (c == '?') {
+                sb.append('.');
+            } else if (c == '[') {
+                inClass = true;
+                sb.append('[');
+            } else {
+                sb.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        if (inClass) throw new IllegalArgumentException("Unterminated [ in pattern: " + glob);
+        return sb.toString();
+    }
+}
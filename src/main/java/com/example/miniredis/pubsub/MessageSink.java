@@ -0,0 +1,12 @@
+package com.example.miniredis.pubsub;
+
+import java.io.IOException;
+
+/**
+ * Transport a subscriber's frames are written to (an SSE stream, a socket, a test buffer).
+ * Only ever called from one delivery thread at a time.
+ */
+public interface MessageSink {
+    void write(byte[] frame) throws IOException;
+    void close();
+}
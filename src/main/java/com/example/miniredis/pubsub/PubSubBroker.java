@@ -0,0 +1,243 @@
+package com.example.miniredis.pubsub;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+/**
+ * Channel and pattern subscriptions with lock-free fan-out.
+ * <p>
+ * Subscriber lists are copy-on-write arrays: (un)subscribing copies the array, publishing reads
+ * a stable snapshot without locking. Each message is encoded once and the same frame is queued on
+ * every subscriber. Subscribers drain on a shared delivery pool, so a slow connection never holds
+ * up a publisher; when its queue overflows it is disconnected. A write that blocks for longer than
+ * the write timeout (a stuck socket) gets its subscriber dropped, and the pool gets an extra thread
+ * until that write returns, so stuck connections cannot use up the delivery threads.
+ */
+public class PubSubBroker {
+
+    private static final Logger logger = Logger.getLogger(PubSubBroker.class.getName());
+    private static final Subscriber[] NO_SUBSCRIBERS = new Subscriber[0];
+    public static final long DEFAULT_WRITE_TIMEOUT_MILLIS = 5_000;
+
+    private record PatternSubscription(GlobPattern pattern, Subscriber subscriber) {
+    }
+
+    private final ConcurrentHashMap<String, Subscriber[]> channels = new ConcurrentHashMap<>();
+    private final AtomicReference<PatternSubscription[]> patterns = new AtomicReference<>(new PatternSubscription[0]);
+    private final FrameEncoder encoder = new FrameEncoder();
+    private final ThreadPoolExecutor deliveryExecutor;
+    private final ScheduledExecutorService watchdog;
+    private final int maxPendingPerSubscriber;
+    private final long writeTimeoutNanos;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong slowConsumersDropped = new AtomicLong();
+    private final AtomicLong stuckWritesAbandoned = new AtomicLong();
+
+    public PubSubBroker(int deliveryThreads, int maxPendingPerSubscriber) {
+        this(deliveryThreads, maxPendingPerSubscriber, DEFAULT_WRITE_TIMEOUT_MILLIS);
+    }
+
+    public PubSubBroker(int deliveryThreads, int maxPendingPerSubscriber, long writeTimeoutMillis) {
+        if (deliveryThreads <= 0) throw new IllegalArgumentException("deliveryThreads must be positive");
+        if (maxPendingPerSubscriber <= 0) throw new IllegalArgumentException("maxPendingPerSubscriber must be positive");
+        if (writeTimeoutMillis <= 0) throw new IllegalArgumentException("writeTimeoutMillis must be positive");
+        this.maxPendingPerSubscriber = maxPendingPerSubscriber;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+        this.deliveryExecutor = new ThreadPoolExecutor(deliveryThreads, deliveryThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new ThreadFactory() {
+            private int n;
+
+            @Override
+            public synchronized Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "pubsub-delivery-" + n++);
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "pubsub-write-watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+        long checkMillis = Math.max(10, Math.min(1_000, writeTimeoutMillis / 4));
+        watchdog.scheduleWithFixedDelay(this::abandonStuckWrites, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public Subscriber newSubscriber(MessageSink sink) {
+        Subscriber subscriber = new Subscriber(this, sink, deliveryExecutor, maxPendingPerSubscriber);
+        subscribers.add(subscriber);
+        return subscriber;
+    }
+
+    public void subscribe(Subscriber subscriber, String channel) {
+        if (subscriber.isClosed() || !subscriber.getChannels().add(channel)) return;
+        channels.compute(channel, (c, current) -> append(current == null ? NO_SUBSCRIBERS : current, subscriber));
+    }
+
+    public void unsubscribe(Subscriber subscriber, String channel) {
+        if (!subscriber.getChannels().remove(channel)) return;
+        channels.computeIfPresent(channel, (c, current) -> {
+            Subscriber[] next = without(current, subscriber);
+            return next.length == 0 ? null : next;
+        });
+    }
+
+    public void psubscribe(Subscriber subscriber, String glob) {
+        GlobPattern pattern = new GlobPattern(glob); // an invalid glob fails before anything is registered
+        if (subscriber.isClosed() || !subscriber.getPatterns().add(glob)) return;
+        PatternSubscription added = new PatternSubscription(pattern, subscriber);
+        patterns.updateAndGet(current -> {
+            PatternSubscription[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = added;
+            return next;
+        });
+    }
+
+    public void punsubscribe(Subscriber subscriber, String glob) {
+        if (!subscriber.getPatterns().remove(glob)) return;
+        patterns.updateAndGet(current -> Arrays.stream(current)
+                .filter(p -> !(p.subscriber() == subscriber && p.pattern().glob().equals(glob)))
+                .toArray(PatternSubscription[]::new));
+    }
+
+    /**
+     * Drop every subscription and close the connection.
+     */
+    public void unsubscribeAll(Subscriber subscriber) {
+        for (String channel : List.copyOf(subscriber.getChannels())) unsubscribe(subscriber, channel);
+        for (String glob : List.copyOf(subscriber.getPatterns())) punsubscribe(subscriber, glob);
+        subscriber.close();
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * Returns the number of subscribers the message was queued for (like Redis PUBLISH).
+     */
+    public int publish(String channel, String payload) {
+        published.incrementAndGet();
+        int receivers = 0;
+
+        Subscriber[] subscribers = channels.get(channel);
+        if (subscribers != null) {
+            byte[] frame = encoder.message(channel, payload);
+            for (Subscriber s : subscribers) {
+                if (s.offer(frame)) receivers++;
+            }
+        }
+
+        PatternSubscription[] snapshot = patterns.get();
+        if (snapshot.length > 0) {
+            Map<String, byte[]> framesByPattern = null; // one encode per distinct matching pattern
+            for (PatternSubscription p : snapshot) {
+                if (!p.pattern().matches(channel)) continue;
+                if (framesByPattern == null) framesByPattern = new HashMap<>();
+                byte[] frame = framesByPattern.computeIfAbsent(p.pattern().glob(),
+                        glob -> encoder.patternMessage(glob, channel, payload));
+                if (p.subscriber().offer(frame)) receivers++;
+            }
+        }
+
+        delivered.addAndGet(receivers);
+        return receivers;
+    }
+
+    void disconnectSlowConsumer(Subscriber subscriber) {
+        slowConsumersDropped.incrementAndGet();
+        logger.warning("Disconnecting slow pub/sub consumer " + subscriber.getId());
+        // off the publisher's thread: unsubscribing copies subscriber arrays
+        deliveryExecutor.execute(() -> unsubscribeAll(subscriber));
+    }
+
+    private void abandonStuckWrites() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.abandonIfStuck(now, writeTimeoutNanos)) continue;
+            stuckWritesAbandoned.incrementAndGet();
+            resizeDeliveryPool(1);
+            logger.warning("Dropping pub/sub subscriber " + subscriber.getId() + ": write blocked for over "
+                    + TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos) + "ms");
+            try {
+                unsubscribeAll(subscriber);
+            } catch (RuntimeException e) {
+                logger.warning("Closing stuck subscriber " + subscriber.getId() + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    // the thread stuck in an abandoned write is back in the pool, so drop its replacement
+    void stuckWriteReturned() {
+        resizeDeliveryPool(-1);
+    }
+
+    // grow max before core and shrink core before max, as ThreadPoolExecutor requires core <= max
+    private synchronized void resizeDeliveryPool(int delta) {
+        if (deliveryExecutor.isShutdown()) return;
+        if (delta > 0) {
+            deliveryExecutor.setMaximumPoolSize(deliveryExecutor.getMaximumPoolSize() + delta);
+            deliveryExecutor.setCorePoolSize(deliveryExecutor.getCorePoolSize() + delta);
+        } else {
+            deliveryExecutor.setCorePoolSize(deliveryExecutor.getCorePoolSize() + delta);
+            deliveryExecutor.setMaximumPoolSize(deliveryExecutor.getMaximumPoolSize() + delta);
+        }
+    }
+
+    /**
+     * Active channels with their subscriber counts (PUBSUB CHANNELS / NUMSUB).
+     */
+    public Map<String, Integer> channelCounts() {
+        Map<String, Integer> counts = new TreeMap<>();
+        channels.forEach((channel, subs) -> counts.put(channel, subs.length));
+        return counts;
+    }
+
+    public int patternCount() {
+        return patterns.get().length;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("channels", channels.size());
+        stats.put("patterns", patternCount());
+        stats.put("published", published.get());
+        stats.put("delivered", delivered.get());
+        stats.put("slowConsumersDropped", slowConsumersDropped.get());
+        stats.put("stuckWritesAbandoned", stuckWritesAbandoned.get());
+        stats.put("deliveryThreads", deliveryExecutor.getCorePoolSize());
+        stats.put("maxPendingPerSubscriber", maxPendingPerSubscriber);
+        return stats;
+    }
+
+    /**
+     * Close every open subscriber connection.
+     */
+    public void closeAll() {
+        List.copyOf(subscribers).forEach(this::unsubscribeAll);
+    }
+
+    public void shutdown() {
+        closeAll();
+        watchdog.shutdownNow();
+        deliveryExecutor.shutdownNow();
+    }
+
+    private static Subscriber[] append(Subscriber[] current, Subscriber s) {
+        Subscriber[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = s;
+        return next;
+    }
+
+    private static Subscriber[] without(Subscriber[] current, Subscriber s) {
+        int i = Arrays.asList(current).indexOf(s);
+        if (i < 0) return current;
+        Subscriber[] next = new Subscriber[current.length - 1];
+        System.arraycopy(current, 0, next, 0, i);
+        System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+        return next;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.miniredis.pubsub;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Writes pre-encoded SSE frames to an {@link SseEmitter} as raw bytes, so the shared frame is
+ * neither re-serialized nor copied per subscriber.
+ */
+public class SseMessageSink implements MessageSink {
+
+    private final SseEmitter emitter;
+
+    public SseMessageSink(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void write(byte[] frame) throws IOException {
+        emitter.send(Set.of(new ResponseBodyEmitter.DataWithMediaType(frame, MediaType.APPLICATION_OCTET_STREAM)));
+    }
+
+    @Override
+    public void close() {
+        emitter.complete();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.miniredis.pubsub;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One subscriber connection with its own bounded output queue. Publishers only enqueue
+ * (lock-free) and never touch the transport; a delivery thread drains the queue into the sink.
+ * A subscriber whose queue overflows is a slow consumer and gets disconnected.
+ */
+public class Subscriber {
+
+    // a drain yields the delivery thread after this many frames or this much time, whichever comes
+    // first, so a subscriber with a slow transport cannot starve the others queued behind it
+    private static final int DRAIN_BATCH = 256;
+    private static final long DRAIN_BUDGET_NANOS = 1_000_000;
+
+    private static final AtomicLong ids = new AtomicLong();
+
+    @Getter
+    private final long id = ids.incrementAndGet();
+    private final PubSubBroker broker;
+    private final MessageSink sink;
+    private final Executor deliveryExecutor;
+    private final int maxPending;
+
+    private final ConcurrentLinkedQueue<byte[]> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    // System.nanoTime() when the current drain began, 0 when idle, ABANDONED once the broker's
+    // watchdog has written the delivery thread off as blocked in a write; drains are bounded by
+    // DRAIN_BUDGET_NANOS, so one that outlives the write timeout is stuck in the sink
+    private static final long ABANDONED = -1;
+    private final AtomicLong drainStartedNanos = new AtomicLong();
+
+    @Getter
+    private final Set<String> channels = ConcurrentHashMap.newKeySet();
+    @Getter
+    private final Set<String> patterns = ConcurrentHashMap.newKeySet();
+
+    Subscriber(PubSubBroker broker, MessageSink sink, Executor deliveryExecutor, int maxPending) {
+        this.broker = broker;
+        this.sink = sink;
+        this.deliveryExecutor = deliveryExecutor;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Called by publishers. Returns false if the subscriber is gone or was just dropped as too slow.
+     */
+    boolean offer(byte[] frame) {
+        if (closed.get() || overflowed.get()) return false;
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            if (overflowed.compareAndSet(false, true)) broker.disconnectSlowConsumer(this);
+            return false;
+        }
+        queue.offer(frame);
+        scheduleDrain();
+        return true;
+    }
+
+    public int getPending() {
+        return pending.get();
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    // an overflowed subscriber stops receiving at once; the broker unsubscribes it asynchronously
+    private boolean isLive() {
+        return !closed.get() && !overflowed.get();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                deliveryExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false); // broker is shutting down
+            }
+        }
+    }
+
+    private void drain() {
+        long start = System.nanoTime();
+        drainStartedNanos.set(start == 0 ? 1 : start);
+        try {
+            byte[] frame;
+            int written = 0;
+            long deadline = start + DRAIN_BUDGET_NANOS;
+            while (written < DRAIN_BATCH && isLive() && (frame = queue.poll()) != null) {
+                pending.decrementAndGet();
+                sink.write(frame);
+                written++;
+                if (System.nanoTime() - deadline > 0) break;
+            }
+        } catch (IOException | RuntimeException e) {
+            broker.unsubscribeAll(this);
+            return;
+        } finally {
+            if (drainStartedNanos.getAndSet(0) == ABANDONED) broker.stuckWriteReturned();
+            draining.set(false);
+        }
+        // frames may have arrived after the last poll, or the batch limit was hit
+        if (!queue.isEmpty() && isLive()) scheduleDrain();
+    }
+
+    /**
+     * Called by the broker's watchdog: true (once) if the current drain has been running for longer
+     * than the timeout, in which case the delivery thread blocked in it is given up on.
+     */
+    boolean abandonIfStuck(long nowNanos, long timeoutNanos) {
+        long started = drainStartedNanos.get();
+        return started > 0 && nowNanos - started > timeoutNanos
+                && drainStartedNanos.compareAndSet(started, ABANDONED);
+    }
+
+    /**
+     * Idempotent; drops anything still queued.
+     */
+    void close() {
+        if (!closed.compareAndSet(false, true)) return;
+        queue.clear();
+        pending.set(0);
+        sink.close();
+    }
+}
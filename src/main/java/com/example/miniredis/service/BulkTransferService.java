@@ -0,0 +1,121 @@
+package com.example.miniredis.service;
+
+import com.example.miniredis.bulk.BulkFormat;
+import com.example.miniredis.bulk.EntryReader;
+import com.example.miniredis.bulk.EntryWriter;
+import com.example.miniredis.config.CacheProperties;
+import com.example.miniredis.dtos.ImportResult;
+import com.example.miniredis.monitoring.MemoryPressureException;
+import com.example.miniredis.store.CacheStore;
+import com.example.miniredis.store.StoredEntry;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Streaming export/import of the whole keyspace. Both directions work in fixed-size batches, so
+ * memory use is bounded by the batch, not the dataset: export reads entries a batch per lock hold
+ * from a snapshot of the key set, and import only reads the next batch from the stream after the
+ * previous one is stored (a slow store pushes back on the sender through TCP flow control).
+ */
+@Service
+public class BulkTransferService {
+
+    private static final Logger logger = Logger.getLogger(BulkTransferService.class.getName());
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final int MAX_PRESSURE_RETRIES = 100;
+    private static final long PRESSURE_BACKOFF_MILLIS = 100;
+
+    private final CacheStore<String, Object> cacheStore;
+    private final int maxBatchSize;
+    private final int maxRecordBytes;
+
+    public BulkTransferService(CacheStore<String, Object> cacheStore, CacheProperties properties) {
+        this.cacheStore = cacheStore;
+        this.maxBatchSize = properties.getBulk().getMaxBatchSize();
+        this.maxRecordBytes = properties.getBulk().getMaxRecordBytes();
+    }
+
+    /**
+     * Write every live entry with its absolute expiry. Keys written after the export starts are
+     * not included; keys deleted meanwhile are skipped. Returns the number of entries written.
+     */
+    public long export(BulkFormat format, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        List<String> keys = cacheStore.snapshotKeys(); // keys only; values are read per batch
+        EntryWriter writer = format.writer(out);
+        long written = 0;
+        for (int from = 0; from < keys.size(); from += DEFAULT_BATCH_SIZE) {
+            List<String> batch = keys.subList(from, Math.min(keys.size(), from + DEFAULT_BATCH_SIZE));
+            for (StoredEntry<String, Object> entry : cacheStore.getEntries(batch)) {
+                writer.write(entry);
+                written++;
+            }
+        }
+        writer.finish();
+        long count = written;
+        logger.info(() -> "Exported " + count + " entries as " + format + " in " + (System.currentTimeMillis() - start) + "ms");
+        return written;
+    }
+
+    /**
+     * Load entries in batches of {@code batchSize} (at most the configured maximum), one lock hold
+     * per batch, and persist once at the end instead of after every key. A malformed record fails
+     * the import with {@link IllegalArgumentException}; the batches stored before it are kept.
+     */
+    public ImportResult importFrom(BulkFormat format, InputStream in, int batchSize) throws IOException {
+        if (batchSize <= 0) throw new IllegalArgumentException("batchSize must be positive");
+        int limit = Math.min(batchSize, maxBatchSize);
+        long start = System.currentTimeMillis();
+        EntryReader reader = format.reader(in, maxRecordBytes);
+        List<StoredEntry<String, Object>> batch = new ArrayList<>(); // grows with the input, not the request
+        long read = 0, imported = 0, batches = 0;
+
+        try {
+            StoredEntry<String, Object> entry;
+            while ((entry = reader.next()) != null) {
+                batch.add(entry);
+                read++;
+                if (batch.size() == limit) {
+                    imported += storeBatch(batch);
+                    batches++;
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                imported += storeBatch(batch);
+                batches++;
+            }
+        } finally {
+            cacheStore.saveAsync(); // batches stored before a malformed record are kept, so persist them too
+        }
+
+        ImportResult result = new ImportResult(imported, read - imported, batches, System.currentTimeMillis() - start);
+        logger.info(() -> "Imported " + result);
+        return result;
+    }
+
+    // under memory pressure, wait for the guard instead of failing a long import halfway
+    private int storeBatch(List<StoredEntry<String, Object>> batch) throws IOException {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return cacheStore.putAll(batch);
+            } catch (MemoryPressureException e) {
+                if (attempt >= MAX_PRESSURE_RETRIES) throw e;
+                try {
+                    Thread.sleep(PRESSURE_BACKOFF_MILLIS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("import interrupted");
+                }
+            }
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package com.example.miniredis.service;
 
+import com.example.miniredis.dtos.HotKey;
+import com.example.miniredis.dtos.SlowLogEntry;
+import com.example.miniredis.monitoring.HotKeyTracker;
+import com.example.miniredis.monitoring.SlowLog;
 import com.example.miniredis.store.CacheStore;
+import com.example.miniredis.store.LoadProgress;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
@@ -21,11 +28,22 @@ public class CacheService<K, V> {
 
     public void set(K key, V value, long ttlMillis) {
         if (key == null) throw new IllegalArgumentException("key cannot be null");
+        if (value == null) throw new IllegalArgumentException("value cannot be null");
         if (ttlMillis < 0) throw new IllegalArgumentException("ttlMillis cannot be negative");
         cacheStore.set(key, value, ttlMillis);
         logger.fine(() -> "Service: set key=" + key);
     }
 
+    /**
+     * Binary values share the keyspace with everything else; the stored array is never copied or
+     * mutated, so callers must not modify it after handing it over.
+     */
+    @SuppressWarnings("unchecked")
+    public void setRaw(K key, byte[] value, long ttlMillis) {
+        if (value == null) throw new IllegalArgumentException("value cannot be null");
+        set(key, (V) value, ttlMillis);
+    }
+
     public V get(K key) {
         if (key == null) return null;
         return cacheStore.get(key);
@@ -40,11 +58,72 @@ public class CacheService<K, V> {
         return cacheStore.listKeys();
     }
 
+    public List<HotKey<K>> getHotKeys() {
+        HotKeyTracker<K> tracker = cacheStore.getHotKeyTracker();
+        return tracker == null ? List.of() : tracker.topK();
+    }
+
+    public List<SlowLogEntry> getSlowLog(int count) {
+        if (count < 0) throw new IllegalArgumentException("count cannot be negative");
+        SlowLog slowLog = cacheStore.getSlowLog();
+        return slowLog == null ? List.of() : slowLog.get(count);
+    }
+
+    public void resetSlowLog() {
+        SlowLog slowLog = cacheStore.getSlowLog();
+        if (slowLog != null) slowLog.reset();
+    }
+
+    /**
+     * Snapshot loading progress. The store serves reads throughout; {@code loading} only says that
+     * some entries are still faulted in on first access rather than already in memory.
+     */
+    public Map<String, Object> getLoadProgress() {
+        LoadProgress progress = cacheStore.loadProgress();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("loading", progress.loading());
+        result.put("snapshotEntries", progress.total());
+        result.put("resolved", progress.resolved());
+        result.put("faultedIn", progress.faultedIn());
+        result.put("progress", progress.fraction());
+        result.put("elapsedMillis", progress.elapsedMillis());
+        result.put("overCapacity", progress.overCapacity());
+        if (progress.error() != null) {
+            result.put("error", progress.error());
+            result.put("unreadable", progress.unreadable());
+        }
+        return result;
+    }
+
     public Map<String, Object> getStats() {
-        return Map.of(
-                "maxCapacity", cacheStore.getMaxCapacity(),
-                "currentSize", cacheStore.getCache().size(),
-                "evictionPolicy", cacheStore.getEvictionPolicy().name()
-        );
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxCapacity", cacheStore.getMaxCapacity());
+        stats.put("currentSize", cacheStore.size());
+        stats.put("evictionPolicy", cacheStore.getEvictionPolicy().name());
+        stats.put("keyspaceCapacity", cacheStore.getKeyspaceCapacity());
+        stats.put("rehashing", cacheStore.isRehashing());
+
+        long memoryHits = cacheStore.getMemoryHits().get();
+        long overflowHits = cacheStore.getOverflowHits().get();
+        long misses = cacheStore.getMisses().get();
+        long lookups = memoryHits + overflowHits + misses;
+        stats.put("memoryHits", memoryHits);
+        stats.put("overflowHits", overflowHits);
+        stats.put("misses", misses);
+        stats.put("memoryHitRate", lookups == 0 ? 0.0 : (double) memoryHits / lookups);
+        stats.put("overflowHitRate", lookups == 0 ? 0.0 : (double) overflowHits / lookups);
+        if (cacheStore.getOverflowTier() != null) {
+            stats.put("overflow", cacheStore.getOverflowTier().stats());
+        }
+        if (cacheStore.getSlowLog() != null) {
+            stats.put("slowLogLength", cacheStore.getSlowLog().size());
+        }
+        if (cacheStore.getMemoryGuard() != null) {
+            stats.put("memory", cacheStore.getMemoryGuard().stats());
+        }
+        if (cacheStore.loadProgress().total() > 0) {
+            stats.put("snapshotLoad", getLoadProgress());
+        }
+        return stats;
     }
 }
@@ -0,0 +1,74 @@
+package com.example.miniredis.service;
+
+import com.example.miniredis.pubsub.PubSubBroker;
+import com.example.miniredis.pubsub.SseMessageSink;
+import com.example.miniredis.pubsub.Subscriber;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+@Service
+public class PubSubService {
+
+    private static final Logger logger = Logger.getLogger(PubSubService.class.getName());
+
+    private final PubSubBroker broker;
+
+    public PubSubService(PubSubBroker broker) {
+        this.broker = broker;
+    }
+
+    public int publish(String channel, String message) {
+        if (channel == null || channel.isEmpty()) throw new IllegalArgumentException("channel cannot be empty");
+        return broker.publish(channel, message == null ? "" : message);
+    }
+
+    /**
+     * Open an SSE stream subscribed to the given channels and patterns. The first event confirms
+     * the subscription; messages follow as "message" / "pmessage" events.
+     */
+    public SseEmitter subscribe(List<String> channels, List<String> patterns) throws IOException {
+        if (channels.isEmpty() && patterns.isEmpty()) {
+            throw new IllegalArgumentException("subscribe needs at least one channel or pattern");
+        }
+        SseEmitter emitter = new SseEmitter(0L); // no timeout; the subscription lives until the client leaves
+        Subscriber subscriber = broker.newSubscriber(new SseMessageSink(emitter));
+        emitter.onCompletion(() -> broker.unsubscribeAll(subscriber));
+        emitter.onTimeout(() -> broker.unsubscribeAll(subscriber));
+        emitter.onError(e -> broker.unsubscribeAll(subscriber));
+
+        try {
+            emitter.send(SseEmitter.event().name("subscribe").data(Map.of("channels", channels, "patterns", patterns)));
+            channels.forEach(channel -> broker.subscribe(subscriber, channel));
+            patterns.forEach(pattern -> broker.psubscribe(subscriber, pattern));
+        } catch (IOException | RuntimeException e) {
+            broker.unsubscribeAll(subscriber); // e.g. an invalid pattern: drop what was already subscribed
+            throw e;
+        }
+        logger.fine(() -> "Subscriber " + subscriber.getId() + " on channels=" + channels + " patterns=" + patterns);
+        return emitter;
+    }
+
+    /**
+     * SSE streams never end on their own, so close them before the web server's graceful shutdown
+     * waits on them.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void closeSubscribers() {
+        broker.closeAll();
+    }
+
+    public Map<String, Integer> channels() {
+        return broker.channelCounts();
+    }
+
+    public Map<String, Object> getStats() {
+        return broker.stats();
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.miniredis.service;
+
+import com.example.miniredis.config.CacheProperties;
+import com.example.miniredis.dtos.CommandRequest;
+import com.example.miniredis.dtos.ExecResult;
+import com.example.miniredis.store.CacheStore;
+import com.example.miniredis.store.TxCommand;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * MULTI/EXEC over REST. A transaction is a server-side session that collects WATCHed key versions
+ * and queued commands; EXEC hands them to {@link CacheStore#execute} in one call, so the whole batch
+ * runs under a single lock hold. Sessions idle for longer than the configured timeout are discarded
+ * by a periodic sweep on the store's maintenance thread.
+ */
+@Service
+public class TransactionService {
+
+    private static final Logger logger = Logger.getLogger(TransactionService.class.getName());
+
+    private static final long MAX_SWEEP_INTERVAL_MILLIS = 1_000;
+
+    private final CacheStore<String, Object> cacheStore;
+    private final long idleTimeoutMillis;
+    private final int maxQueuedCommands;
+    private final Map<String, Transaction> transactions = new ConcurrentHashMap<>();
+
+    public TransactionService(CacheStore<String, Object> cacheStore, CacheProperties properties) {
+        this.cacheStore = cacheStore;
+        this.idleTimeoutMillis = properties.getTransactions().getIdleTimeoutMillis();
+        this.maxQueuedCommands = properties.getTransactions().getMaxQueuedCommands();
+        cacheStore.scheduleMaintenance(this::discardIdle,
+                Math.max(1, Math.min(idleTimeoutMillis, MAX_SWEEP_INTERVAL_MILLIS)));
+    }
+
+    /**
+     * Run a command list atomically without a session; the same as MULTI, queue, EXEC with no WATCH.
+     */
+    public ExecResult batch(List<CommandRequest> commands) {
+        List<TxCommand<String, Object>> parsed = parse(commands);
+        return new ExecResult(true, cacheStore.execute(parsed, Map.of()));
+    }
+
+    /** MULTI: open a transaction and return its id. */
+    public String begin() {
+        String id = UUID.randomUUID().toString();
+        transactions.put(id, new Transaction());
+        logger.fine(() -> "MULTI " + id);
+        return id;
+    }
+
+    /**
+     * WATCH: EXEC will abort if any of these keys is written, evicted or expires before it runs.
+     * Must come before any command is queued.
+     */
+    public void watch(String id, List<String> keys) {
+        Transaction tx = find(id);
+        synchronized (tx) {
+            ensureOpen(id, tx);
+            if (!tx.queued.isEmpty()) throw new IllegalArgumentException("WATCH must come before queued commands");
+            for (String key : keys) {
+                if (key == null) throw new IllegalArgumentException("key cannot be null");
+                if (!tx.watched.containsKey(key)) tx.watched.put(key, cacheStore.watch(key));
+            }
+        }
+    }
+
+    /** Queue commands for EXEC; returns how many are queued so far. */
+    public int queue(String id, List<CommandRequest> commands) {
+        List<TxCommand<String, Object>> parsed = parse(commands);
+        Transaction tx = find(id);
+        synchronized (tx) {
+            ensureOpen(id, tx);
+            if (tx.queued.size() + parsed.size() > maxQueuedCommands) {
+                throw new IllegalArgumentException("transaction exceeds " + maxQueuedCommands + " queued commands");
+            }
+            tx.queued.addAll(parsed);
+            return tx.queued.size();
+        }
+    }
+
+    /** EXEC: run the queued commands atomically and close the transaction. */
+    public ExecResult exec(String id) {
+        Transaction tx = remove(id);
+        synchronized (tx) {
+            try {
+                List<Object> results = cacheStore.execute(tx.queued, tx.watched);
+                logger.fine(() -> "EXEC " + id + (results == null ? " aborted" : " ran " + tx.queued.size() + " commands"));
+                return new ExecResult(results != null, results);
+            } finally {
+                release(tx);
+            }
+        }
+    }
+
+    /** DISCARD: drop the queued commands and watches. */
+    public void discard(String id) {
+        Transaction tx = remove(id);
+        synchronized (tx) {
+            release(tx);
+        }
+        logger.fine(() -> "DISCARD " + id);
+    }
+
+    public int openTransactions() {
+        return transactions.size();
+    }
+
+    private Transaction find(String id) {
+        Transaction tx = transactions.get(id);
+        if (tx == null) throw new NoSuchElementException("no such transaction: " + id);
+        tx.lastUsed = System.currentTimeMillis();
+        return tx;
+    }
+
+    private Transaction remove(String id) {
+        Transaction tx = transactions.remove(id);
+        if (tx == null) throw new NoSuchElementException("no such transaction: " + id);
+        return tx;
+    }
+
+    // EXEC, DISCARD or the idle sweep may close a transaction between find() and taking its lock
+    private static void ensureOpen(String id, Transaction tx) {
+        if (tx.closed) throw new NoSuchElementException("no such transaction: " + id);
+    }
+
+    private void release(Transaction tx) {
+        tx.closed = true;
+        tx.watched.keySet().forEach(cacheStore::unwatch);
+        tx.watched.clear();
+    }
+
+    private void discardIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        transactions.forEach((id, tx) -> {
+            if (tx.lastUsed < cutoff && transactions.remove(id, tx)) {
+                synchronized (tx) {
+                    release(tx);
+                }
+                logger.info(() -> "Discarded idle transaction " + id);
+            }
+        });
+    }
+
+    private static List<TxCommand<String, Object>> parse(List<CommandRequest> commands) {
+        if (commands == null || commands.isEmpty()) throw new IllegalArgumentException("no commands given");
+        List<TxCommand<String, Object>> parsed = new ArrayList<>(commands.size());
+        for (CommandRequest command : commands) {
+            if (command.getOp() == null) throw new IllegalArgumentException("op cannot be null");
+            TxCommand.Op op;
+            try {
+                op = TxCommand.Op.valueOf(command.getOp().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("unknown op: " + command.getOp());
+            }
+            parsed.add(new TxCommand<>(op, command.getKey(), command.getTarget(), command.getValue(), command.getTtl()));
+        }
+        return parsed;
+    }
+
+    private static final class Transaction {
+        final Map<String, Long> watched = new LinkedHashMap<>();
+        final List<TxCommand<String, Object>> queued = new ArrayList<>();
+        volatile long lastUsed = System.currentTimeMillis();
+        boolean closed; // guarded by the transaction's lock
+    }
+}
@@ -1,13 +1,21 @@
 package com.example.miniredis.store;
 
-import com.example.miniredis.models.CacheValue;
+import com.example.miniredis.monitoring.CommandTimer;
+import com.example.miniredis.monitoring.HotKeyTracker;
+import com.example.miniredis.monitoring.MemoryGuard;
+import com.example.miniredis.monitoring.SlowLog;
 import com.example.miniredis.persistence.PersistenceManager;
+import com.example.miniredis.persistence.SnapshotIndex;
 import com.example.miniredis.strategy.EvictionPolicy;
+import com.example.miniredis.strategy.SampledEvictionPolicy;
+import com.example.miniredis.tier.OverflowTier;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 
 @Getter
@@ -15,11 +23,88 @@ public class CacheStore<K, V> {
 
     private static final Logger logger = Logger.getLogger(CacheStore.class.getName());
 
-    // store CacheValue wrappers
-    private final Map<K, CacheValue<V>> cache = new ConcurrentHashMap<>();
+    // background expiry cycle: slots scanned per lock hold, and time budget per run
+    private static final int EXPIRE_SCAN_SLOTS = 4096;
+    private static final long EXPIRE_CYCLE_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(25);
+    private static final int IDLE_REHASH_SLOTS = 1024;
+    private static final int EVICT_CHUNK = 256; // keys evicted per lock hold by evict(n)
+    private static final int LOAD_CHUNK = 1024; // snapshot entries loaded per lock hold in LAZY mode
+    private static final long EVICTION_STATE_SAVE_INTERVAL_SECONDS = 60;
+
+    /**
+     * EAGER loads the whole persisted snapshot in the constructor. LAZY only reads the snapshot's
+     * keys: values are faulted in on first access and a background thread loads the rest, hottest
+     * first.
+     */
+    public enum LoadMode {
+        EAGER, LAZY
+    }
+
+    // key, value, expiry and eviction metadata inline; guarded by the store lock
+    @Getter(AccessLevel.NONE)
+    private final KeyspaceTable<K, V> keyspace = new KeyspaceTable<>();
+    @Getter(AccessLevel.NONE)
+    private int expireCursor;
+
+    // WATCH bookkeeping: only watched keys are tracked, so other writes pay a single isEmpty check
+    @Getter(AccessLevel.NONE)
+    private final Map<K, WatchedKey> watchedKeys = new HashMap<>();
+
+    // LAZY startup: snapshot keys not in memory yet, hottest first; null once nothing is pending.
+    // Saves are deferred meanwhile, since a partial keyspace would overwrite the snapshot being read.
+    @Getter(AccessLevel.NONE)
+    private LinkedHashSet<K> pendingKeys;
+    @Getter(AccessLevel.NONE)
+    private SnapshotIndex<K, V> pendingIndex;
+    @Getter(AccessLevel.NONE)
+    private boolean saveDeferred;
+    @Getter(AccessLevel.NONE)
+    private int snapshotSize;
+    @Getter(AccessLevel.NONE)
+    private long faultedIn;
+    @Getter(AccessLevel.NONE)
+    private int droppedOverCapacity;
+    @Getter(AccessLevel.NONE)
+    private String loadError;
+    @Getter(AccessLevel.NONE)
+    private int unreadableEntries;
+    @Getter(AccessLevel.NONE)
+    private long loadStartMillis;
+    @Getter(AccessLevel.NONE)
+    private long loadEndMillis;
+    @Getter(AccessLevel.NONE)
+    private volatile Thread snapshotLoader;
+    // keys the loader inserted that no client has read or written since; only these take their saved
+    // eviction state when the load finishes
+    @Getter(AccessLevel.NONE)
+    private Set<K> untouchedSnapshotKeys;
+    // snapshot keys the loader left out of memory over capacity. Until a client writes or deletes
+    // one, saves copy it over from the snapshot being replaced, so it survives as it would in EAGER mode
+    @Getter(AccessLevel.NONE)
+    private final Set<K> retainedSnapshotKeys = new HashSet<>();
+
     private final int maxCapacity;
     private final EvictionPolicy<K> evictionPolicy;
+    @Getter(AccessLevel.NONE)
+    private final SampledEvictionPolicy<K> sampledPolicy; // same instance when metadata is kept inline
     private final PersistenceManager<K, V> persistenceManager;
+    private final OverflowTier<K, V> overflowTier; // null => evicted entries are discarded
+
+    // lookup counters (per tier)
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong overflowHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // optional hot-key detection; fed on every get/set outside the store lock
+    @Setter
+    private volatile HotKeyTracker<K> hotKeyTracker;
+
+    // optional slow-command log; commands over its threshold are recorded with a phase breakdown
+    @Setter
+    private volatile SlowLog slowLog;
+
+    // optional heap-pressure guard; evicts through evict(n) and may refuse writes
+    private volatile MemoryGuard memoryGuard;
 
     // Executors
     private final ScheduledExecutorService ttlExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
@@ -36,89 +121,755 @@ public class CacheStore<K, V> {
     public CacheStore(int maxCapacity,
                       EvictionPolicy<K> evictionPolicy,
                       PersistenceManager<K, V> persistenceManager) {
+        this(maxCapacity, evictionPolicy, persistenceManager, null);
+    }
+
+    public CacheStore(int maxCapacity,
+                      EvictionPolicy<K> evictionPolicy,
+                      PersistenceManager<K, V> persistenceManager,
+                      OverflowTier<K, V> overflowTier) {
+        this(maxCapacity, evictionPolicy, persistenceManager, overflowTier, LoadMode.EAGER);
+    }
+
+    public CacheStore(int maxCapacity,
+                      EvictionPolicy<K> evictionPolicy,
+                      PersistenceManager<K, V> persistenceManager,
+                      OverflowTier<K, V> overflowTier,
+                      LoadMode loadMode) {
+        this(maxCapacity, evictionPolicy, persistenceManager, overflowTier, loadMode, true);
+    }
+
+    /**
+     * With {@code backgroundExpiry} off the owner must call {@link #cleanExpired()} itself, as a
+     * shard does from its own thread.
+     */
+    CacheStore(int maxCapacity,
+               EvictionPolicy<K> evictionPolicy,
+               PersistenceManager<K, V> persistenceManager,
+               OverflowTier<K, V> overflowTier,
+               LoadMode loadMode,
+               boolean backgroundExpiry) {
         this.maxCapacity = maxCapacity;
         this.evictionPolicy = evictionPolicy;
         this.persistenceManager = persistenceManager;
+        this.overflowTier = overflowTier;
+        if (evictionPolicy instanceof SampledEvictionPolicy<K> sampled) {
+            sampled.bind(keyspace);
+            this.sampledPolicy = sampled;
+        } else {
+            this.sampledPolicy = null;
+        }
 
         // load persisted snapshot if available
-        if (persistenceManager != null) {
+        if (persistenceManager != null && loadMode == LoadMode.LAZY) {
+            startLazyLoad();
+        } else if (persistenceManager != null) {
             Map<K, V> loaded = persistenceManager.load();
             if (loaded != null && !loaded.isEmpty()) {
-                loaded.forEach((k, v) -> {
-                    cache.put(k, new CacheValue<>(v, 0L)); // persisted entries default to no TTL
-                    evictionPolicy.keyAdded(k);
-                });
+                long now = System.currentTimeMillis();
+                // persisted entries default to no TTL
+                loaded.forEach((k, v) -> keyspace.put(k, v, KeyspaceTable.NO_EXPIRY, initialMeta(now)));
+                restoreEvictionState(loaded.keySet());
             }
         }
 
         // schedule TTL cleanup every second
-        ttlExecutor.scheduleAtFixedRate(this::cleanExpired, 1, 1, TimeUnit.SECONDS);
+        if (backgroundExpiry) {
+            ttlExecutor.scheduleAtFixedRate(this::cleanExpired, 1, 1, TimeUnit.SECONDS);
+        }
+        if (persistenceManager != null) {
+            ttlExecutor.scheduleWithFixedDelay(this::saveEvictionStateQuietly, EVICTION_STATE_SAVE_INTERVAL_SECONDS,
+                    EVICTION_STATE_SAVE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
     }
 
     public void set(K key, V value, long ttlMillis) {
         if (key == null) throw new IllegalArgumentException("key cannot be null");
-        synchronized (this) {
-            if (!cache.containsKey(key) && cache.size() >= maxCapacity) {
-                K evict = evictionPolicy.evictKey();
-                if (evict != null) {
-                    cache.remove(evict);
-                    evictionPolicy.keyRemoved(evict);
-                    logger.info(() -> "Evicted key: " + evict + " by policy=" + evictionPolicy.name());
-                }
+        if (value == null) throw new IllegalArgumentException("value cannot be null");
+        MemoryGuard guard = memoryGuard;
+        if (guard != null) guard.admitWrite();
+        recordAccess(key);
+        CommandTimer timer = new CommandTimer();
+        try {
+            synchronized (this) {
+                timer.lockAcquired();
+                long now = System.currentTimeMillis();
+                putLocked(key, value, expireAt(now, ttlMillis), now, timer);
+                persist(timer);
+                logger.fine(() -> "SET key=" + key + " ttl=" + ttlMillis);
             }
-            cache.put(key, new CacheValue<>(value, ttlMillis));
-            evictionPolicy.keyAdded(key);
-            saveAsync();
-            logger.fine(() -> "SET key=" + key + " ttl=" + ttlMillis);
+        } finally {
+            recordIfSlow("SET", key, timer);
         }
     }
 
     public V get(K key) {
         if (key == null) return null;
-        synchronized (this) {
-            CacheValue<V> wrapper = cache.get(key);
-            if (wrapper == null) {
-                logger.fine(() -> "GET miss: " + key);
-                return null;
-            }
-            // choose absolute expiry; change to isExpiredSliding() for sliding TTL
-            if (wrapper.isExpired()) {
-                // expire and count as miss
-                cache.remove(key);
-                evictionPolicy.keyRemoved(key);
-                saveAsync();
-                logger.fine(() -> "GET miss (expired): " + key);
-                return null;
+        recordAccess(key);
+        CommandTimer timer = new CommandTimer();
+        try {
+            synchronized (this) {
+                timer.lockAcquired();
+                int slot = locateOrFault(key);
+                if (slot < 0) {
+                    V promoted = promoteFromOverflow(key, timer);
+                    if (promoted == null) {
+                        misses.incrementAndGet();
+                        logger.fine(() -> "GET miss: " + key);
+                    }
+                    return promoted;
+                }
+                long now = System.currentTimeMillis();
+                // absolute expiry; for sliding TTL, push the slot's expiry forward here instead
+                if (keyspace.isExpired(slot, now)) {
+                    // expire and count as miss
+                    keyspace.removeAt(slot);
+                    evictionPolicy.keyRemoved(key);
+                    touch(key);
+                    persist(timer);
+                    misses.incrementAndGet();
+                    logger.fine(() -> "GET miss (expired): " + key);
+                    return null;
+                }
+                keyspace.setMetaAt(slot, touchMeta(keyspace.metaAt(slot), now));
+                V value = keyspace.valueAt(slot);
+                evictionPolicy.keyAccessed(key);
+                markTouched(key);
+                memoryHits.incrementAndGet();
+                logger.fine(() -> "GET hit: " + key);
+                return value;
             }
-            evictionPolicy.keyAccessed(key);
-            logger.fine(() -> "GET hit: " + key);
-            return wrapper.getValue(); // updates lastAccessTime
+        } finally {
+            recordIfSlow("GET", key, timer);
         }
     }
 
     public void delete(K key) {
         if (key == null) return;
+        CommandTimer timer = new CommandTimer();
+        try {
+            synchronized (this) {
+                timer.lockAcquired();
+                if (removeLocked(key)) {
+                    persist(timer);
+                    logger.fine(() -> "DELETE key: " + key);
+                }
+            }
+        } finally {
+            recordIfSlow("DELETE", key, timer);
+        }
+    }
+
+    public void setMemoryGuard(MemoryGuard guard) {
+        this.memoryGuard = guard;
+        if (guard != null) guard.bind(this::size, this::evict);
+    }
+
+    /**
+     * Run a housekeeping task on the store's expiry thread every {@code periodMillis} until the
+     * store shuts down. A failing run is logged and does not cancel later ones.
+     */
+    public void scheduleMaintenance(Runnable task, long periodMillis) {
+        ttlExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.warning("Maintenance task failed: " + e.getMessage());
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Evict up to {@code count} keys through the eviction policy, a chunk per lock hold so readers
+     * are not stalled behind a large batch. Returns how many keys were evicted.
+     */
+    public int evict(int count) {
+        int evicted = 0;
+        CommandTimer timer = new CommandTimer();
+        boolean more = true;
+        while (more && evicted < count) {
+            synchronized (this) {
+                int chunkEnd = Math.min(count, evicted + EVICT_CHUNK);
+                while (evicted < chunkEnd) {
+                    if (keyspace.size() == 0 || !evictOne(timer, false)) {
+                        more = false;
+                        break;
+                    }
+                    evicted++;
+                }
+            }
+        }
+        if (evicted > 0) saveAsync();
+        return evicted;
+    }
+
+    /**
+     * Current entries for the given keys, with their absolute expiry; missing and expired keys
+     * are left out. Spilled entries are read from the overflow tier in place. Does not count as an
+     * access.
+     */
+    public synchronized List<StoredEntry<K, V>> getEntries(Collection<K> keys) {
+        List<StoredEntry<K, V>> entries = new ArrayList<>(keys.size());
+        long now = System.currentTimeMillis();
+        for (K key : keys) {
+            int slot = locateOrFault(key);
+            if (slot >= 0) {
+                if (!keyspace.isExpired(slot, now)) {
+                    entries.add(new StoredEntry<>(key, keyspace.valueAt(slot), keyspace.expireAtSlot(slot)));
+                }
+            } else if (overflowTier != null) {
+                OverflowTier.Entry<V> spilled = overflowTier.peek(key);
+                if (spilled != null) {
+                    long expireAt = spilled.expiryTime() == Long.MAX_VALUE ? KeyspaceTable.NO_EXPIRY : spilled.expiryTime();
+                    entries.add(new StoredEntry<>(key, spilled.value(), expireAt));
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Bulk load: insert a batch under one lock hold, keeping each entry's absolute expiry.
+     * Entries that have already expired are skipped. Nothing is persisted; the caller saves once
+     * after the last batch. Returns how many entries were stored.
+     */
+    public int putAll(List<StoredEntry<K, V>> batch) {
+        MemoryGuard guard = memoryGuard;
+        if (guard != null) guard.admitWrite();
+        int stored = 0;
+        CommandTimer timer = new CommandTimer();
         synchronized (this) {
-            if (cache.remove(key) != null) {
-                evictionPolicy.keyRemoved(key);
-                saveAsync();
-                logger.fine(() -> "DELETE key: " + key);
+            long now = System.currentTimeMillis();
+            for (StoredEntry<K, V> entry : batch) {
+                if (entry.key() == null) throw new IllegalArgumentException("key cannot be null");
+                if (entry.isExpired(now)) continue;
+                if (pendingKeys != null) pendingKeys.remove(entry.key()); // the imported value wins
+                retainedSnapshotKeys.remove(entry.key());
+                if (!keyspace.containsKey(entry.key()) && keyspace.size() >= maxCapacity) {
+                    evictOne(timer, false);
+                }
+                keyspace.put(entry.key(), entry.value(), entry.expireAt(), initialMeta(now));
+                evictionPolicy.keyAdded(entry.key());
+                markTouched(entry.key());
+                if (overflowTier != null) overflowTier.invalidate(entry.key());
+                touch(entry.key());
+                stored++;
             }
         }
+        return stored;
     }
 
-    public Set<K> listKeys() {
-        return cache.keySet();
+    public synchronized int size() {
+        return keyspace.size();
     }
 
-    private void cleanExpired() {
+    public synchronized boolean containsKey(K key) {
+        return key != null && locateAnywhere(key, new CommandTimer()) >= 0;
+    }
+
+    public synchronized LoadProgress loadProgress() {
+        if (snapshotSize == 0) return LoadProgress.NONE;
+        int pending = pendingKeys == null ? 0 : pendingKeys.size();
+        long end = pendingKeys == null ? loadEndMillis : System.currentTimeMillis();
+        return new LoadProgress(pendingKeys != null, snapshotSize, snapshotSize - pending, faultedIn,
+                end - loadStartMillis, loadError, unreadableEntries, droppedOverCapacity);
+    }
+
+    /**
+     * Remaining TTL in milliseconds, Redis PTTL style: -1 if the key has no TTL, -2 if it does not exist.
+     * Does not count as an access.
+     */
+    public synchronized long ttlMillis(K key) {
+        if (key == null) return -2;
+        return ttlLocked(key, System.currentTimeMillis(), new CommandTimer());
+    }
+
+    /**
+     * WATCH: start tracking writes to {@code key} and return its current version, to be passed to
+     * {@link #execute}. Every call must be paired with one {@link #unwatch}.
+     */
+    public synchronized long watch(K key) {
+        if (key == null) throw new IllegalArgumentException("key cannot be null");
+        WatchedKey watched = watchedKeys.computeIfAbsent(key, k -> new WatchedKey());
+        watched.watchers++;
+        return watched.version;
+    }
+
+    public synchronized void unwatch(K key) {
+        WatchedKey watched = watchedKeys.get(key);
+        if (watched != null && --watched.watchers == 0) watchedKeys.remove(key);
+    }
+
+    /**
+     * EXEC: run a batch of commands under a single lock hold, so no other command interleaves with
+     * it, and persist once afterwards if anything changed. If a watched key was written, evicted or
+     * expired since its version was taken, nothing runs and {@code null} is returned; otherwise one
+     * result per command: SET true, GET the value or null, DELETE/RENAME/EXISTS whether the key
+     * existed, PTTL as {@link #ttlMillis}.
+     */
+    public List<Object> execute(List<TxCommand<K, V>> commands, Map<K, Long> watchedVersions) {
+        boolean writes = commands.stream().anyMatch(command -> command.op().isWrite());
+        MemoryGuard guard = memoryGuard;
+        if (writes && guard != null) guard.admitWrite();
+        commands.forEach(command -> recordAccess(command.key()));
+        CommandTimer timer = new CommandTimer();
         try {
-            for (K key : cache.keySet()) {
-                CacheValue<V> wrapper = cache.get(key);
-                if (wrapper != null && wrapper.isExpired()) {
-                    delete(key);
+            synchronized (this) {
+                timer.lockAcquired();
+                long now = System.currentTimeMillis();
+                boolean changed = false;
+                for (Map.Entry<K, Long> watch : watchedVersions.entrySet()) {
+                    changed |= expireIfDue(watch.getKey(), now);
+                    WatchedKey watched = watchedKeys.get(watch.getKey());
+                    if (watched == null || watched.version != watch.getValue()) {
+                        if (changed) persist(timer);
+                        logger.fine(() -> "EXEC aborted, watched key changed: " + watch.getKey());
+                        return null;
+                    }
+                }
+                List<Object> results = new ArrayList<>(commands.size());
+                for (TxCommand<K, V> command : commands) {
+                    results.add(apply(command, now, timer));
                 }
+                if (writes || changed) persist(timer);
+                logger.fine(() -> "EXEC ran " + commands.size() + " commands");
+                return results;
             }
+        } finally {
+            recordIfSlow("EXEC", commands.isEmpty() ? null : commands.get(0).key(), timer);
+        }
+    }
+
+    public synchronized int getKeyspaceCapacity() {
+        return keyspace.capacity();
+    }
+
+    public synchronized boolean isRehashing() {
+        return keyspace.isRehashing();
+    }
+
+    // caller must hold the store lock
+    private Object apply(TxCommand<K, V> command, long now, CommandTimer timer) {
+        K key = command.key();
+        return switch (command.op()) {
+            case SET -> {
+                putLocked(key, command.value(), expireAt(now, command.ttlMillis()), now, timer);
+                yield Boolean.TRUE;
+            }
+            case GET -> readLocked(key, now, timer);
+            case DELETE -> removeLocked(key);
+            case RENAME -> renameLocked(key, command.target(), now, timer);
+            case EXISTS -> liveSlot(key, now, timer) >= 0;
+            case PTTL -> ttlLocked(key, now, timer);
+        };
+    }
+
+    // caller must hold the store lock
+    private void putLocked(K key, V value, long expireAt, long now, CommandTimer timer) {
+        if (pendingKeys != null) pendingKeys.remove(key); // the snapshot's value is stale now
+        retainedSnapshotKeys.remove(key);
+        if (!keyspace.containsKey(key) && keyspace.size() >= maxCapacity) {
+            evictOne(timer);
+        }
+        keyspace.put(key, value, expireAt, initialMeta(now));
+        evictionPolicy.keyAdded(key);
+        markTouched(key);
+        if (overflowTier != null) overflowTier.invalidate(key); // memory copy is now authoritative
+        touch(key);
+    }
+
+    // caller must hold the store lock
+    private boolean removeLocked(K key) {
+        if (overflowTier != null) overflowTier.invalidate(key);
+        boolean pending = pendingKeys != null && pendingKeys.remove(key);
+        retainedSnapshotKeys.remove(key);
+        boolean removed = keyspace.remove(key);
+        if (removed) evictionPolicy.keyRemoved(key);
+        if (!removed && !pending) return false;
+        touch(key);
+        return true;
+    }
+
+    // GET inside a batch: an expired key reads as a miss and is left for the expiry cycle to remove
+    private V readLocked(K key, long now, CommandTimer timer) {
+        int slot = locateOrFault(key);
+        if (slot < 0) {
+            V promoted = promoteFromOverflow(key, timer);
+            if (promoted == null) misses.incrementAndGet();
+            return promoted;
+        }
+        if (keyspace.isExpired(slot, now)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        keyspace.setMetaAt(slot, touchMeta(keyspace.metaAt(slot), now));
+        evictionPolicy.keyAccessed(key);
+        markTouched(key);
+        memoryHits.incrementAndGet();
+        return keyspace.valueAt(slot);
+    }
+
+    // RENAME keeps the value's absolute expiry and overwrites the target
+    private boolean renameLocked(K key, K target, long now, CommandTimer timer) {
+        int slot = liveSlot(key, now, timer);
+        if (slot < 0) return false;
+        if (key.equals(target)) return true;
+        V value = keyspace.valueAt(slot);
+        long expireAt = keyspace.expireAtSlot(slot);
+        removeLocked(key);
+        putLocked(target, value, expireAt, now, timer);
+        return true;
+    }
+
+    private long ttlLocked(K key, long now, CommandTimer timer) {
+        int slot = liveSlot(key, now, timer);
+        if (slot < 0) return -2;
+        long expireAt = keyspace.expireAtSlot(slot);
+        return expireAt == KeyspaceTable.NO_EXPIRY ? -1 : expireAt - now;
+    }
+
+    private int liveSlot(K key, long now, CommandTimer timer) {
+        int slot = locateAnywhere(key, timer);
+        return slot >= 0 && !keyspace.isExpired(slot, now) ? slot : -1;
+    }
+
+    // caller must hold the store lock; every command finds a key the same way: memory, then the
+    // pending snapshot, then the overflow tier (promoting the entry back into memory)
+    private int locateAnywhere(K key, CommandTimer timer) {
+        int slot = locateOrFault(key);
+        if (slot < 0 && promoteFromOverflow(key, timer) != null) slot = keyspace.locate(key);
+        return slot;
+    }
+
+    // a watched key that expired since WATCH counts as changed, as it does in Redis
+    private boolean expireIfDue(K key, long now) {
+        int slot = keyspace.locate(key);
+        if (slot < 0 || !keyspace.isExpired(slot, now)) return false;
+        keyspace.removeAt(slot);
+        evictionPolicy.keyRemoved(key);
+        touch(key);
+        return true;
+    }
+
+    // bump the version of a watched key so pending EXECs watching it abort
+    private void touch(K key) {
+        if (watchedKeys.isEmpty()) return;
+        WatchedKey watched = watchedKeys.get(key);
+        if (watched != null) watched.version++;
+    }
+
+    private void startLazyLoad() {
+        SnapshotIndex<K, V> index = persistenceManager.openIndex();
+        Set<K> keys = index.keys();
+        if (keys.isEmpty()) return;
+        loadStartMillis = System.currentTimeMillis();
+        pendingKeys = hottestFirst(keys);
+        pendingIndex = index;
+        untouchedSnapshotKeys = new HashSet<>();
+        snapshotSize = pendingKeys.size();
+        Thread loader = new Thread(this::loadPending, "cache-snapshot-loader");
+        loader.setDaemon(true);
+        snapshotLoader = loader;
+        loader.start();
+        logger.info(() -> "Serving while loading " + snapshotSize + " snapshot entries in the background");
+    }
+
+    // saved eviction state lists keys coldest first, so load it in reverse, then keys it does not know
+    private LinkedHashSet<K> hottestFirst(Set<K> keys) {
+        Map<K, Long> saved = persistenceManager.loadEvictionState();
+        List<K> ranked = saved == null ? List.of() : new ArrayList<>(saved.keySet());
+        LinkedHashSet<K> order = new LinkedHashSet<>(Math.max(16, keys.size() * 4 / 3 + 1));
+        for (int i = ranked.size() - 1; i >= 0; i--) {
+            if (keys.contains(ranked.get(i))) order.add(ranked.get(i));
+        }
+        order.addAll(keys);
+        return order;
+    }
+
+    /**
+     * Background loader. Values are read from the snapshot outside the store lock, a chunk at a time,
+     * and inserted under one lock hold each; keys that were faulted in, written or deleted while the
+     * chunk was being read are no longer pending and are skipped.
+     */
+    private void loadPending() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                List<K> chunk = new ArrayList<>(LOAD_CHUNK);
+                SnapshotIndex<K, V> index;
+                synchronized (this) {
+                    if (pendingKeys == null) return;
+                    index = pendingIndex;
+                    Iterator<K> it = pendingKeys.iterator();
+                    while (chunk.size() < LOAD_CHUNK && it.hasNext()) chunk.add(it.next());
+                }
+                List<V> values = new ArrayList<>(chunk.size());
+                for (K key : chunk) values.add(index.read(key));
+                synchronized (this) {
+                    if (pendingKeys == null) return;
+                    long now = System.currentTimeMillis();
+                    for (int i = 0; i < chunk.size(); i++) {
+                        K key = chunk.get(i);
+                        if (pendingKeys.remove(key) && values.get(i) != null) {
+                            insertFromSnapshot(key, values.get(i), now, false);
+                        }
+                    }
+                    if (pendingKeys.isEmpty()) {
+                        finishLazyLoad();
+                        return;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) return; // shutting down
+            logger.warning("Background snapshot load failed, faulting in the remaining keys: " + e);
+            faultInRemaining(e);
+        }
+    }
+
+    /**
+     * Fallback after the background loader failed: read the remaining keys one at a time under the
+     * store lock, drop the ones that still cannot be read, and finish the load so saves resume.
+     */
+    private synchronized void faultInRemaining(Exception cause) {
+        loadError = String.valueOf(cause);
+        if (pendingKeys == null) return;
+        long now = System.currentTimeMillis();
+        for (K key : pendingKeys) {
+            try {
+                V value = pendingIndex.read(key);
+                if (value != null) insertFromSnapshot(key, value, now, false);
+            } catch (Exception e) {
+                unreadableEntries++;
+            }
+        }
+        if (unreadableEntries > 0) {
+            logger.warning(unreadableEntries + " snapshot entries could not be read and were dropped");
+        }
+        finishLazyLoad();
+    }
+
+    // caller must hold the store lock; a key still pending in the snapshot is loaded before it is looked up
+    private int locateOrFault(K key) {
+        int slot = keyspace.locate(key);
+        if (slot >= 0 || pendingKeys == null || !pendingKeys.remove(key)) return slot;
+        V value = pendingIndex.read(key);
+        if (value != null) {
+            insertFromSnapshot(key, value, System.currentTimeMillis(), true);
+            faultedIn++;
+        }
+        if (pendingKeys.isEmpty()) finishLazyLoad();
+        return value != null ? keyspace.locate(key) : -1;
+    }
+
+    /**
+     * Persisted entries default to no TTL, as in EAGER mode. Writes during the load may have filled
+     * memory: a key a client asked for then evicts like any other insert, while a background-loaded
+     * one is colder than everything loaded before it, so it stays out of memory instead. It is
+     * spilled to the overflow tier, if any, and kept in the snapshot. Caller must hold the store lock.
+     */
+    private void insertFromSnapshot(K key, V value, long now, boolean accessed) {
+        if (keyspace.size() >= maxCapacity) {
+            if (!accessed) {
+                if (overflowTier != null) overflowTier.put(key, value, Long.MAX_VALUE);
+                retainedSnapshotKeys.add(key);
+                droppedOverCapacity++;
+                return;
+            }
+            evictOne(new CommandTimer());
+        }
+        keyspace.put(key, value, KeyspaceTable.NO_EXPIRY, initialMeta(now));
+        evictionPolicy.keyAdded(key);
+        if (!accessed) untouchedSnapshotKeys.add(key);
+    }
+
+    // caller must hold the store lock; client traffic reached the key, so its live policy state stands
+    private void markTouched(K key) {
+        if (untouchedSnapshotKeys != null) untouchedSnapshotKeys.remove(key);
+    }
+
+    // caller must hold the store lock
+    private void finishLazyLoad() {
+        pendingKeys = null;
+        pendingIndex = null;
+        loadEndMillis = System.currentTimeMillis();
+        mergeEvictionState();
+        logger.info(() -> "Snapshot loaded: " + snapshotSize + " entries in " + (loadEndMillis - loadStartMillis)
+                + "ms, " + faultedIn + " faulted in on access, " + droppedOverCapacity
+                + " kept out of memory over capacity");
+        if (saveDeferred) {
+            saveDeferred = false;
+            saveAsync();
+        }
+    }
+
+    private void recordAccess(K key) {
+        HotKeyTracker<K> tracker = hotKeyTracker;
+        if (tracker != null) tracker.recordAccess(key);
+    }
+
+    private void recordIfSlow(String command, K key, CommandTimer timer) {
+        SlowLog log = slowLog;
+        if (log != null) log.recordIfSlow(command, key, timer);
+    }
+
+    private void persist(CommandTimer timer) {
+        long start = System.nanoTime();
+        saveAsync();
+        timer.addPersistence(System.nanoTime() - start);
+    }
+
+    /**
+     * Warm restart: hand the policy its saved ordering/frequency for the keys that were loaded,
+     * then add any keys the saved state does not know about as the most recent.
+     */
+    private void restoreEvictionState(Set<K> loadedKeys) {
+        Map<K, Long> saved = persistenceManager.loadEvictionState();
+        Map<K, Long> state = new LinkedHashMap<>();
+        if (saved != null) {
+            saved.forEach((k, weight) -> {
+                if (loadedKeys.contains(k)) state.put(k, weight);
+            });
+        }
+        evictionPolicy.importState(state);
+        for (K key : loadedKeys) {
+            if (!state.containsKey(key)) evictionPolicy.keyAdded(key);
+        }
+        logger.info(() -> "Restored eviction state for " + state.size() + " of " + loadedKeys.size() + " keys");
+    }
+
+    /**
+     * End of a lazy load: traffic has been shaping the policy since startup, so the saved
+     * ordering/frequency is only applied to snapshot keys no client has touched. They rank as
+     * colder than every key the live traffic reached, which keeps its current state.
+     */
+    private void mergeEvictionState() {
+        Set<K> untouched = untouchedSnapshotKeys;
+        untouchedSnapshotKeys = null;
+        Map<K, Long> saved = persistenceManager.loadEvictionState();
+        Map<K, Long> state = new LinkedHashMap<>();
+        if (saved != null) {
+            saved.forEach((k, weight) -> {
+                if (untouched.contains(k) && keyspace.containsKey(k)) state.put(k, weight);
+            });
+        }
+        int restored = state.size();
+        evictionPolicy.exportState().forEach(state::putIfAbsent);
+        evictionPolicy.importState(state);
+        logger.info(() -> "Restored eviction state for " + restored + " untouched of " + state.size() + " keys");
+    }
+
+    private static long expireAt(long now, long ttlMillis) {
+        return ttlMillis > 0 ? now + ttlMillis : KeyspaceTable.NO_EXPIRY;
+    }
+
+    // inline eviction metadata: the sampled policy's own encoding, otherwise the last access time
+    private long initialMeta(long now) {
+        return sampledPolicy != null ? sampledPolicy.initialMeta(now) : now;
+    }
+
+    private long touchMeta(long meta, long now) {
+        return sampledPolicy != null ? sampledPolicy.touch(meta, now) : now;
+    }
+
+    // caller must hold the store lock
+    private void evictOne(CommandTimer timer) {
+        evictOne(timer, true);
+    }
+
+    // returns false if the policy had nothing to evict; batch evictions log a summary instead of each key
+    private boolean evictOne(CommandTimer timer, boolean logKey) {
+        long start = System.nanoTime();
+        K evict = evictionPolicy.evictKey();
+        if (evict == null) return false;
+        int slot = keyspace.locate(evict);
+        if (slot < 0) {
+            evictionPolicy.keyRemoved(evict); // policy and keyspace disagreed; nothing to evict
+            return true;
+        }
+        V value = keyspace.valueAt(slot);
+        long expireAt = keyspace.expireAtSlot(slot);
+        boolean expired = keyspace.isExpired(slot, System.currentTimeMillis());
+        keyspace.removeAt(slot);
+        evictionPolicy.keyRemoved(evict);
+        touch(evict);
+        timer.addEviction(System.nanoTime() - start);
+        if (overflowTier != null && !expired) {
+            long spillStart = System.nanoTime();
+            overflowTier.put(evict, value, expireAt == KeyspaceTable.NO_EXPIRY ? Long.MAX_VALUE : expireAt);
+            timer.addSerialization(System.nanoTime() - spillStart);
+        }
+        if (logKey) logger.info(() -> "Evicted key: " + evict + " by policy=" + evictionPolicy.name());
+        return true;
+    }
+
+    /**
+     * Memory miss: look in the overflow tier and move the entry back into memory.
+     * Not persisted here; the next write snapshots the promoted entry. Caller must hold the store lock.
+     */
+    private V promoteFromOverflow(K key, CommandTimer timer) {
+        if (overflowTier == null) return null;
+        long start = System.nanoTime();
+        OverflowTier.Entry<V> entry = overflowTier.remove(key);
+        timer.addSerialization(System.nanoTime() - start);
+        if (entry == null) return null;
+        if (keyspace.size() >= maxCapacity) {
+            evictOne(timer);
+        }
+        long now = System.currentTimeMillis();
+        long expireAt = entry.expiryTime() == Long.MAX_VALUE ? KeyspaceTable.NO_EXPIRY : entry.expiryTime();
+        keyspace.put(key, entry.value(), expireAt, initialMeta(now));
+        evictionPolicy.keyAdded(key);
+        markTouched(key);
+        overflowHits.incrementAndGet();
+        logger.fine(() -> "GET hit (overflow): " + key);
+        return entry.value();
+    }
+
+    /**
+     * Every stored key as a flat list, including keys still pending in a lazy load and keys spilled
+     * to the overflow tier; cheaper than {@link #listKeys()} for large scans.
+     */
+    public synchronized List<K> snapshotKeys() {
+        List<K> keys = keyspace.keys();
+        if (pendingKeys != null) keys.addAll(pendingKeys);
+        if (overflowTier != null) keys.addAll(overflowTier.keys());
+        return keys;
+    }
+
+    /**
+     * Snapshot of the keys currently in memory.
+     */
+    public synchronized Set<K> listKeys() {
+        Set<K> keys = new HashSet<>(keyspace.keys());
+        if (pendingKeys != null) keys.addAll(pendingKeys);
+        return keys;
+    }
+
+    /**
+     * Active expiry: scan the keyspace in bounded batches (one lock hold each) until the table
+     * has been covered or the cycle's time budget is spent, and let an idle table finish rehashing.
+     */
+    void cleanExpired() {
+        try {
+            long deadline = System.nanoTime() + EXPIRE_CYCLE_BUDGET_NANOS;
+            do {
+                synchronized (this) {
+                    keyspace.rehashStep(IDLE_REHASH_SLOTS);
+                    List<K> expired = new ArrayList<>();
+                    long now = System.currentTimeMillis();
+                    expireCursor = keyspace.collectExpired(expireCursor, EXPIRE_SCAN_SLOTS, now, expired);
+                    for (K key : expired) {
+                        int slot = keyspace.locate(key);
+                        if (slot >= 0 && keyspace.isExpired(slot, now)) {
+                            keyspace.removeAt(slot);
+                            evictionPolicy.keyRemoved(key);
+                            if (overflowTier != null) overflowTier.invalidate(key);
+                            touch(key);
+                        }
+                    }
+                    if (!expired.isEmpty()) saveAsync();
+                }
+            } while (expireCursor != 0 && System.nanoTime() < deadline);
         } catch (Exception e) {
             logger.warning("Exception during TTL cleanup: " + e.getMessage());
         }
@@ -137,17 +888,66 @@ public class CacheStore<K, V> {
 //        });
 //    }
 
-    public void saveAsync() {
-        if (persistenceManager != null) {
-            Map<K, V> snapshot = new ConcurrentHashMap<>();
-            cache.forEach((k, wrapper) -> snapshot.put(k, wrapper.getValue()));
+    public synchronized void saveAsync() {
+        if (persistenceManager != null && pendingKeys != null) {
+            saveDeferred = true; // written once the lazy load finishes
+        } else if (persistenceManager != null) {
+            Map<K, V> snapshot = new HashMap<>(keyspace.size() * 4 / 3 + 1);
+            keyspace.forEach(snapshot::put);
+            if (!retainedSnapshotKeys.isEmpty() && !carryOverRetained(snapshot)) return;
             persistenceManager.save(snapshot);
         }
     }
 
+    // copy the entries kept only in the snapshot from the one about to be replaced; on a read failure
+    // the save is skipped, leaving the previous snapshot (and those entries) in place
+    private boolean carryOverRetained(Map<K, V> snapshot) {
+        try {
+            SnapshotIndex<K, V> previous = persistenceManager.openIndex();
+            for (Iterator<K> it = retainedSnapshotKeys.iterator(); it.hasNext(); ) {
+                K key = it.next();
+                if (snapshot.containsKey(key)) continue; // promoted from the overflow tier; memory is current
+                V value = previous.read(key);
+                if (value != null) snapshot.put(key, value);
+                else it.remove();
+            }
+            return true;
+        } catch (Exception e) {
+            logger.warning("Save skipped, could not read entries kept in the snapshot: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Write the eviction policy's ordering next to the snapshot for warm restarts. Exporting copies
+     * (and for the sampled policies sorts) the whole policy state, so this runs periodically and at
+     * shutdown rather than on every write. Skipped while a lazy load is still running.
+     */
+    public synchronized void saveEvictionState() {
+        if (persistenceManager == null || pendingKeys != null) return;
+        persistenceManager.saveEvictionState(evictionPolicy.exportState());
+    }
+
+    private void saveEvictionStateQuietly() {
+        try {
+            saveEvictionState();
+        } catch (Exception e) {
+            logger.warning("Saving eviction state failed: " + e.getMessage());
+        }
+    }
+
+
+    private static final class WatchedKey {
+        long version;
+        int watchers;
+    }
 
     public void shutdown() {
+        Thread loader = snapshotLoader;
+        if (loader != null) loader.interrupt();
         ttlExecutor.shutdownNow();
+        saveEvictionStateQuietly();
         persistExecutor.shutdownNow();
+        if (overflowTier != null) overflowTier.close();
     }
 }
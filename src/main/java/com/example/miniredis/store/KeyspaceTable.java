@@ -0,0 +1,385 @@
+package com.example.miniredis.store;
+
+import com.example.miniredis.strategy.KeySampler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Open-addressing keyspace dictionary. Each entry lives inline in parallel arrays
+ * (key, value, absolute expiry, eviction metadata), so there is no per-key node or wrapper object.
+ * <p>
+ * Resizing is incremental, Redis-dict style: a resize allocates a new table and every operation
+ * migrates a few slots from the old one, so no single call pays for the whole rehash. Lookups
+ * that hit the old table move the entry over on the spot, which means callers only ever see
+ * slots of the main table.
+ * <p>
+ * Not thread-safe; {@link CacheStore} guards it with its lock.
+ */
+public class KeyspaceTable<K, V> implements KeySampler<K> {
+
+    public static final long NO_EXPIRY = 0L;
+
+    private static final Object TOMBSTONE = new Object(); // hole left in the old table by an early move
+    private static final int MIN_CAPACITY = 16;
+    private static final int REHASH_STEP = 16;            // slots migrated per operation
+    private static final double MAX_LOAD = 0.75;
+    private static final double MIN_LOAD = 0.10;
+
+    private Table main;
+    private Table old;        // non-null while rehashing
+    private int rehashIndex;  // next old-table slot to migrate
+    private int rehashEnd;    // migration stops here (a free slot, so clusters move whole)
+    private int size;
+
+    private static final class Table {
+        final Object[] keys;
+        final Object[] values;
+        final long[] expireAt;
+        final long[] meta;
+        final int mask;
+        final int shift;
+        int live;
+
+        Table(int capacity) {
+            keys = new Object[capacity];
+            values = new Object[capacity];
+            expireAt = new long[capacity];
+            meta = new long[capacity];
+            mask = capacity - 1;
+            shift = 32 - Integer.numberOfTrailingZeros(capacity);
+        }
+
+        int capacity() {
+            return keys.length;
+        }
+
+        // Fibonacci hashing: take the top bits of the product, which mix in every bit of the hash
+        int home(Object key) {
+            return (key.hashCode() * 0x9E3779B9) >>> shift;
+        }
+
+        void clearSlot(int i) {
+            keys[i] = null;
+            values[i] = null;
+            expireAt[i] = 0L;
+            meta[i] = 0L;
+        }
+
+        void copySlot(int from, Table dst, int to) {
+            dst.keys[to] = keys[from];
+            dst.values[to] = values[from];
+            dst.expireAt[to] = expireAt[from];
+            dst.meta[to] = meta[from];
+        }
+    }
+
+    public KeyspaceTable() {
+        this(MIN_CAPACITY);
+    }
+
+    public KeyspaceTable(int initialCapacity) {
+        this.main = new Table(tableSizeFor(Math.max(MIN_CAPACITY, initialCapacity)));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return main.capacity() + (old == null ? 0 : old.capacity());
+    }
+
+    public boolean isRehashing() {
+        return old != null;
+    }
+
+    /**
+     * Slot of the key in the main table, or -1. Valid until the next mutating call.
+     */
+    public int locate(K key) {
+        rehashStep(REHASH_STEP);
+        int slot = find(main, key);
+        if (slot >= 0 || old == null) return slot;
+        int oldSlot = findInOld(key);
+        if (oldSlot < 0) return -1;
+        return moveFromOld(oldSlot);
+    }
+
+    public boolean containsKey(K key) {
+        return locate(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public K keyAt(int slot) {
+        return (K) main.keys[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V valueAt(int slot) {
+        return (V) main.values[slot];
+    }
+
+    public long expireAtSlot(int slot) {
+        return main.expireAt[slot];
+    }
+
+    public boolean isExpired(int slot, long nowMillis) {
+        long expireAt = main.expireAt[slot];
+        return expireAt != NO_EXPIRY && nowMillis >= expireAt;
+    }
+
+    public long metaAt(int slot) {
+        return main.meta[slot];
+    }
+
+    public void setMetaAt(int slot, long meta) {
+        main.meta[slot] = meta;
+    }
+
+    /**
+     * Insert or overwrite. Returns true if the key was not present.
+     */
+    public boolean put(K key, V value, long expireAt, long meta) {
+        if (key == null) throw new IllegalArgumentException("key cannot be null");
+        int slot = locate(key);
+        boolean added = slot < 0;
+        if (added) {
+            if (size + 1 > MAX_LOAD * main.capacity()) {
+                finishRehash();
+                startRehash(main.capacity() * 2);
+            }
+            slot = insertionSlot(main, key);
+            main.keys[slot] = key;
+            main.live++;
+            size++;
+        }
+        main.values[slot] = value;
+        main.expireAt[slot] = expireAt;
+        main.meta[slot] = meta;
+        return added;
+    }
+
+    public boolean remove(K key) {
+        int slot = locate(key);
+        if (slot < 0) return false;
+        removeAt(slot);
+        return true;
+    }
+
+    /**
+     * Remove by slot using backward-shift deletion, so the main table never holds tombstones.
+     */
+    public void removeAt(int slot) {
+        Table t = main;
+        t.clearSlot(slot);
+        t.live--;
+        size--;
+        int hole = slot;
+        int i = (slot + 1) & t.mask;
+        while (t.keys[i] != null) {
+            int home = t.home(t.keys[i]);
+            // move entry i into the hole if the hole lies on its probe path (home..i, cyclically)
+            if (((i - home) & t.mask) >= ((i - hole) & t.mask)) {
+                t.copySlot(i, t, hole);
+                t.clearSlot(i);
+                hole = i;
+            }
+            i = (i + 1) & t.mask;
+        }
+        maybeShrink();
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<K, V> action) {
+        for (Table t : tables()) {
+            for (int i = 0; i < t.capacity(); i++) {
+                Object k = t.keys[i];
+                if (k != null && k != TOMBSTONE) action.accept((K) k, (V) t.values[i]);
+            }
+        }
+    }
+
+    public List<K> keys() {
+        List<K> keys = new ArrayList<>(size);
+        forEach((k, v) -> keys.add(k));
+        return keys;
+    }
+
+    /**
+     * Scan up to {@code count} main-table slots from {@code cursor}, collecting expired keys.
+     * Returns the next cursor, 0 once the table has been covered. Entries still waiting in the
+     * old table are skipped; they are picked up after they migrate.
+     */
+    @SuppressWarnings("unchecked")
+    public int collectExpired(int cursor, int count, long nowMillis, List<K> out) {
+        Table t = main;
+        if (cursor >= t.capacity()) cursor = 0;
+        int end = Math.min(t.capacity(), cursor + count);
+        for (int i = cursor; i < end; i++) {
+            long expireAt = t.expireAt[i];
+            if (t.keys[i] != null && expireAt != NO_EXPIRY && nowMillis >= expireAt) {
+                out.add((K) t.keys[i]);
+            }
+        }
+        return end >= t.capacity() ? 0 : end;
+    }
+
+    /**
+     * Up to n distinct keys from a run of slots starting at a random position (as Redis'
+     * dictGetSomeKeys). Returns every key when the table holds n or fewer, so tiny caches
+     * evict exactly.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<K> sampleKeys(int n) {
+        if (size <= n) return keys();
+        List<K> sample = new ArrayList<>(n);
+        for (Table t : mainFirst()) {
+            if (t.live == 0) continue;
+            int start = ThreadLocalRandom.current().nextInt(t.capacity());
+            int maxSteps = Math.min(t.capacity(), n * 32);
+            for (int j = 0; j < maxSteps && sample.size() < n; j++) {
+                Object k = t.keys[(start + j) & t.mask];
+                if (k != null && k != TOMBSTONE) sample.add((K) k);
+            }
+            if (sample.size() >= n) break;
+        }
+        return sample;
+    }
+
+    @Override
+    public long meta(K key) {
+        int slot = locate(key);
+        return slot < 0 ? 0L : main.meta[slot];
+    }
+
+    @Override
+    public void setMeta(K key, long meta) {
+        int slot = locate(key);
+        if (slot >= 0) main.meta[slot] = meta;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachMeta(ObjLongConsumer<K> action) {
+        for (Table t : tables()) {
+            for (int i = 0; i < t.capacity(); i++) {
+                Object k = t.keys[i];
+                if (k != null && k != TOMBSTONE) action.accept((K) k, t.meta[i]);
+            }
+        }
+    }
+
+    /**
+     * Migrate up to n old-table slots. Also driven by the store's background cycle so an
+     * idle table still finishes its rehash.
+     */
+    public void rehashStep(int n) {
+        if (old == null) return;
+        int visited = 0;
+        // only stop on a free slot so a probe cluster is never split between tables
+        while (rehashIndex != rehashEnd && (visited < n || old.keys[rehashIndex] != null)) {
+            Object k = old.keys[rehashIndex];
+            if (k != null && k != TOMBSTONE) {
+                int to = insertionSlot(main, k);
+                old.copySlot(rehashIndex, main, to);
+                main.live++;
+                old.live--;
+            }
+            old.clearSlot(rehashIndex);
+            rehashIndex = (rehashIndex + 1) & old.mask;
+            visited++;
+        }
+        if (rehashIndex == rehashEnd || old.live == 0) old = null;
+    }
+
+    public void clear() {
+        main = new Table(MIN_CAPACITY);
+        old = null;
+        size = 0;
+    }
+
+    private void finishRehash() {
+        while (old != null) rehashStep(Integer.MAX_VALUE);
+    }
+
+    private void startRehash(int newCapacity) {
+        Table previous = main;
+        main = new Table(newCapacity);
+        if (previous.live == 0) return;
+        old = previous;
+        // begin at a free slot and walk one full cycle; the load factor guarantees one exists
+        int start = 0;
+        while (old.keys[start] != null) start++;
+        rehashIndex = start;
+        rehashEnd = start;
+        // advance once so the loop condition does not see start == end before moving anything
+        rehashIndex = (rehashIndex + 1) & old.mask;
+        rehashStep(REHASH_STEP);
+    }
+
+    private void maybeShrink() {
+        if (old != null || main.capacity() <= MIN_CAPACITY) return;
+        if (size < MIN_LOAD * main.capacity()) {
+            startRehash(tableSizeFor(Math.max(MIN_CAPACITY, size * 2)));
+        }
+    }
+
+    private int moveFromOld(int oldSlot) {
+        int to = insertionSlot(main, old.keys[oldSlot]);
+        old.copySlot(oldSlot, main, to);
+        old.clearSlot(oldSlot);
+        old.keys[oldSlot] = TOMBSTONE; // keep probe chains through this slot intact
+        old.live--;
+        main.live++;
+        if (old.live == 0) old = null;
+        return to;
+    }
+
+    private static int find(Table t, Object key) {
+        int i = t.home(key);
+        for (int probes = 0; probes <= t.mask; probes++) {
+            Object k = t.keys[i];
+            if (k == null) return -1;
+            if (k.equals(key)) return i;
+            i = (i + 1) & t.mask;
+        }
+        return -1;
+    }
+
+    private int findInOld(Object key) {
+        Table t = old;
+        int i = t.home(key);
+        for (int probes = 0; probes <= t.mask; probes++) {
+            Object k = t.keys[i];
+            if (k == null) return -1;
+            if (k != TOMBSTONE && k.equals(key)) return i;
+            i = (i + 1) & t.mask;
+        }
+        return -1;
+    }
+
+    private static int insertionSlot(Table t, Object key) {
+        int i = t.home(key);
+        while (t.keys[i] != null) i = (i + 1) & t.mask;
+        return i;
+    }
+
+    private List<Table> tables() {
+        return old == null ? List.of(main) : List.of(old, main);
+    }
+
+    private List<Table> mainFirst() {
+        return old == null ? List.of(main) : List.of(main, old);
+    }
+
+    private static int tableSizeFor(int n) {
+        int cap = Integer.highestOneBit(Math.max(1, n - 1)) << 1;
+        return Math.max(MIN_CAPACITY, cap);
+    }
+}
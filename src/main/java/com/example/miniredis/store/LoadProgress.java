@@ -0,0 +1,18 @@
+package com.example.miniredis.store;
+
+/**
+ * Lazy startup progress. {@code resolved} counts snapshot keys that no longer need loading: loaded
+ * in the background, faulted in by a read, or overwritten/deleted before either happened. {@code error}
+ * is null unless the background loader failed, in which case the remaining keys were read in the
+ * foreground and the {@code unreadable} ones that still failed were dropped. {@code overCapacity}
+ * counts keys that did not fit in memory; they are spilled to the overflow tier and kept in the snapshot.
+ */
+public record LoadProgress(boolean loading, int total, int resolved, long faultedIn, long elapsedMillis,
+                           String error, int unreadable, int overCapacity) {
+
+    public static final LoadProgress NONE = new LoadProgress(false, 0, 0, 0, 0, null, 0, 0);
+
+    public double fraction() {
+        return total == 0 ? 1.0 : (double) resolved / total;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.miniredis.store;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer / single-consumer ring. Producers claim a slot with one CAS on
+ * the tail and publish with a release store; the consumer owns the head and never CASes.
+ */
+final class MpscQueue<E> {
+
+    private final AtomicReferenceArray<E> buffer;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong(); // next slot to claim (producers)
+    private final AtomicLong head = new AtomicLong(); // next slot to read (consumer only)
+
+    MpscQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Returns false when the ring is full.
+     */
+    boolean offer(E e) {
+        long t;
+        do {
+            t = tail.get();
+            if (t - head.get() > mask) return false;
+        } while (!tail.compareAndSet(t, t + 1));
+        buffer.lazySet((int) t & mask, e);
+        return true;
+    }
+
+    /**
+     * Consumer only. Returns null when empty.
+     */
+    E poll() {
+        long h = head.get();
+        int i = (int) h & mask;
+        E e = buffer.get(i);
+        if (e == null) {
+            if (h == tail.get()) return null;
+            // a producer has claimed the slot but not published yet; it is a few instructions away
+            do {
+                Thread.onSpinWait();
+                e = buffer.get(i);
+            } while (e == null);
+        }
+        buffer.lazySet(i, null);
+        head.lazySet(h + 1);
+        return e;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+}
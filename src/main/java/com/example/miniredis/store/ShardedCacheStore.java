@@ -0,0 +1,192 @@
+package com.example.miniredis.store;
+
+import com.example.miniredis.strategy.EvictionPolicy;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Shared-nothing execution mode: N independent single-threaded {@link CacheStore} shards, each with
+ * its own keyspace, eviction policy and expiry cycle. A key always maps to the same shard, and a
+ * command reaches it through that shard's lock-free queue, so no keyspace state is shared between
+ * cores. Multi-key commands are split per shard, run in parallel and gathered.
+ * <p>
+ * Capacity and eviction are per shard (like Redis Cluster slots): each shard holds up to
+ * {@code maxCapacity / shards} keys (the remainder goes to the lowest shards, so the total is exactly
+ * {@code maxCapacity}) and evicts among its own keys only.
+ */
+public class ShardedCacheStore<K, V> {
+
+    private static final Logger logger = Logger.getLogger(ShardedCacheStore.class.getName());
+
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final int SPIN_POLLS = 256;
+
+    private final List<StoreShard<K, V>> shards;
+    private final int maxCapacity;
+
+    public ShardedCacheStore(int shardCount, int maxCapacity, Supplier<EvictionPolicy<K>> evictionPolicyFactory) {
+        if (shardCount <= 0) throw new IllegalArgumentException("shardCount must be positive");
+        if (maxCapacity < shardCount) throw new IllegalArgumentException("maxCapacity must be at least shardCount");
+        this.maxCapacity = maxCapacity;
+        int perShard = maxCapacity / shardCount;
+        int remainder = maxCapacity % shardCount;
+        // an idle shard spins briefly before parking, but only if that does not take cores from callers
+        int spinPolls = Runtime.getRuntime().availableProcessors() > shardCount ? SPIN_POLLS : 0;
+        List<StoreShard<K, V>> created = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            int capacity = perShard + (i < remainder ? 1 : 0);
+            created.add(new StoreShard<>(i, capacity, evictionPolicyFactory.get(), QUEUE_CAPACITY, spinPolls));
+        }
+        this.shards = List.copyOf(created);
+        shards.forEach(StoreShard::start);
+        logger.info("Started " + shardCount + " cache shards, " + perShard + (remainder > 0 ? "-" + (perShard + 1) : "")
+                + " keys each");
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    public void set(K key, V value, long ttlMillis) {
+        setAsync(key, value, ttlMillis).join();
+    }
+
+    public V get(K key) {
+        return getAsync(key).join();
+    }
+
+    public void delete(K key) {
+        deleteAsync(key).join();
+    }
+
+    public CompletableFuture<Void> setAsync(K key, V value, long ttlMillis) {
+        if (key == null) throw new IllegalArgumentException("key cannot be null");
+        return shardFor(key).submit(store -> {
+            store.set(key, value, ttlMillis);
+            return null;
+        });
+    }
+
+    public CompletableFuture<V> getAsync(K key) {
+        if (key == null) return CompletableFuture.completedFuture(null);
+        return shardFor(key).submit(store -> store.get(key));
+    }
+
+    public CompletableFuture<Void> deleteAsync(K key) {
+        if (key == null) return CompletableFuture.completedFuture(null);
+        return shardFor(key).submit(store -> {
+            store.delete(key);
+            return null;
+        });
+    }
+
+    /**
+     * MGET: values of the keys that are present (missing keys are left out).
+     */
+    public Map<K, V> multiGet(Collection<K> keys) {
+        Map<K, V> result = new HashMap<>();
+        fanOut(keys, (store, shardKeys) -> {
+            Map<K, V> found = new HashMap<>();
+            for (K key : shardKeys) {
+                V value = store.get(key);
+                if (value != null) found.put(key, value);
+            }
+            return found;
+        }).forEach(result::putAll);
+        return result;
+    }
+
+    /**
+     * MSET with a common TTL. Each shard applies its part atomically; there is no cross-shard atomicity.
+     */
+    public void multiSet(Map<K, V> entries, long ttlMillis) {
+        fanOut(entries.keySet(), (store, shardKeys) -> {
+            for (K key : shardKeys) store.set(key, entries.get(key), ttlMillis);
+            return null;
+        });
+    }
+
+    /**
+     * DEL of several keys; returns how many existed.
+     */
+    public int multiDelete(Collection<K> keys) {
+        return fanOut(keys, (store, shardKeys) -> {
+            int removed = 0;
+            for (K key : shardKeys) {
+                if (store.containsKey(key)) {
+                    store.delete(key);
+                    removed++;
+                }
+            }
+            return removed;
+        }).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public int size() {
+        return broadcast(CacheStore::size).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public Set<K> listKeys() {
+        Set<K> keys = new HashSet<>();
+        broadcast(CacheStore::listKeys).forEach(keys::addAll);
+        return keys;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("shards", shards.size());
+        stats.put("maxCapacity", maxCapacity);
+        stats.put("sizes", broadcast(CacheStore::size));
+        stats.put("processed", shards.stream().map(StoreShard::processed).toList());
+        stats.put("queueDepths", shards.stream().map(StoreShard::queueDepth).toList());
+        return stats;
+    }
+
+    public void shutdown() {
+        shards.forEach(StoreShard::shutdown);
+    }
+
+    int shardIndex(K key) {
+        int h = key.hashCode();
+        // spread high bits down; the shard's own table takes its slot from the top bits
+        return Math.floorMod(h ^ (h >>> 16), shards.size());
+    }
+
+    private StoreShard<K, V> shardFor(K key) {
+        return shards.get(shardIndex(key));
+    }
+
+    private <R> List<R> broadcast(Function<CacheStore<K, V>, R> op) {
+        List<CompletableFuture<R>> futures = shards.stream().map(shard -> shard.submit(op)).toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private interface ShardOperation<K, V, R> {
+        R apply(CacheStore<K, V> store, List<K> shardKeys);
+    }
+
+    /**
+     * Group keys by shard, run one command per touched shard in parallel, and gather the results.
+     */
+    private <R> List<R> fanOut(Collection<K> keys, ShardOperation<K, V, R> op) {
+        Map<Integer, List<K>> byShard = new HashMap<>();
+        for (K key : keys) {
+            if (key == null) throw new IllegalArgumentException("key cannot be null");
+            byShard.computeIfAbsent(shardIndex(key), i -> new ArrayList<>()).add(key);
+        }
+        List<CompletableFuture<R>> futures = new ArrayList<>(byShard.size());
+        byShard.forEach((index, shardKeys) ->
+                futures.add(shards.get(index).submit(store -> op.apply(store, shardKeys))));
+        List<R> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<R> future : futures) results.add(future.join());
+        return results;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.miniredis.store;
+
+import com.example.miniredis.strategy.EvictionPolicy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * One shard of a {@link ShardedCacheStore}: a private {@link CacheStore} that only its own thread
+ * ever touches. Commands arrive on an MPSC queue and run one at a time, so the store's lock is
+ * never contended and its keyspace stays in one core's cache. The expiry cycle runs on the same
+ * thread between commands.
+ */
+final class StoreShard<K, V> implements Runnable {
+
+    private static final Logger logger = Logger.getLogger(StoreShard.class.getName());
+
+    private static final long EXPIRY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int index;
+    private final CacheStore<K, V> store;
+    private final MpscQueue<Runnable> queue;
+    private final Thread thread;
+    private final int spinPolls; // empty polls before the shard parks
+    private final AtomicLong processed = new AtomicLong();
+    private volatile boolean sleeping;
+    private volatile boolean running = true;
+
+    StoreShard(int index, int capacity, EvictionPolicy<K> evictionPolicy, int queueCapacity, int spinPolls) {
+        this.index = index;
+        this.spinPolls = spinPolls;
+        this.store = new CacheStore<>(capacity, evictionPolicy, null, null, CacheStore.LoadMode.EAGER, false);
+        this.queue = new MpscQueue<>(queueCapacity);
+        this.thread = new Thread(this, "cache-shard-" + index);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Run {@code op} against this shard's store on the shard thread.
+     */
+    <R> CompletableFuture<R> submit(Function<CacheStore<K, V>, R> op) {
+        if (!running) throw new RejectedExecutionException("shard " + index + " is shut down");
+        CompletableFuture<R> result = new CompletableFuture<>();
+        Runnable command = () -> {
+            try {
+                result.complete(op.apply(store));
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        };
+        // a full queue means the shard is saturated; back off until it drains
+        while (!queue.offer(command)) {
+            if (!running) throw new RejectedExecutionException("shard " + index + " is shut down");
+            wake();
+            Thread.onSpinWait();
+        }
+        if (sleeping) wake();
+        return result;
+    }
+
+    @Override
+    public void run() {
+        long nextExpiry = System.nanoTime() + EXPIRY_INTERVAL_NANOS;
+        int idlePolls = 0;
+        while (running || !queue.isEmpty()) {
+            Runnable command = queue.poll();
+            if (command != null) {
+                command.run();
+                processed.lazySet(processed.get() + 1); // single writer
+                idlePolls = 0;
+            } else if (++idlePolls < spinPolls) {
+                Thread.onSpinWait();
+            } else {
+                // publish the intent to sleep, then re-check so a concurrent submit is not missed
+                sleeping = true;
+                if (queue.isEmpty() && running) {
+                    LockSupport.parkNanos(this, Math.max(0, nextExpiry - System.nanoTime()));
+                }
+                sleeping = false;
+                idlePolls = 0;
+            }
+            if (System.nanoTime() - nextExpiry >= 0) {
+                store.cleanExpired();
+                nextExpiry = System.nanoTime() + EXPIRY_INTERVAL_NANOS;
+            }
+        }
+        logger.fine(() -> "Shard " + index + " stopped after " + processed.get() + " commands");
+    }
+
+    void shutdown() {
+        running = false;
+        wake();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        store.shutdown();
+    }
+
+    int index() {
+        return index;
+    }
+
+    long processed() {
+        return processed.get();
+    }
+
+    int queueDepth() {
+        return queue.size();
+    }
+
+    private void wake() {
+        LockSupport.unpark(thread);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.miniredis.store;
+
+/**
+ * An entry as it sits in the keyspace; {@code expireAt} is absolute epoch millis, or
+ * {@link KeyspaceTable#NO_EXPIRY}.
+ */
+public record StoredEntry<K, V>(K key, V value, long expireAt) {
+
+    public StoredEntry {
+        if (value == null) throw new IllegalArgumentException("value cannot be null for key " + key);
+    }
+
+    public boolean hasExpiry() {
+        return expireAt != KeyspaceTable.NO_EXPIRY;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return hasExpiry() && nowMillis >= expireAt;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.miniredis.store;
+
+/**
+ * One command of an atomic batch run by {@link CacheStore#execute}. {@code target} is only used by
+ * RENAME; {@code value} and {@code ttlMillis} only by SET.
+ */
+public record TxCommand<K, V>(Op op, K key, K target, V value, long ttlMillis) {
+
+    public enum Op {
+        SET, GET, DELETE, RENAME, EXISTS, PTTL;
+
+        public boolean isWrite() {
+            return this == SET || this == DELETE || this == RENAME;
+        }
+    }
+
+    public TxCommand {
+        if (op == null) throw new IllegalArgumentException("op cannot be null");
+        if (key == null) throw new IllegalArgumentException("key cannot be null");
+        if (op == Op.SET && value == null) throw new IllegalArgumentException("SET needs a value");
+        if (op == Op.RENAME && target == null) throw new IllegalArgumentException("RENAME needs a target key");
+        if (ttlMillis < 0) throw new IllegalArgumentException("ttlMillis cannot be negative");
+    }
+
+    public static <K, V> TxCommand<K, V> set(K key, V value, long ttlMillis) {
+        return new TxCommand<>(Op.SET, key, null, value, ttlMillis);
+    }
+
+    public static <K, V> TxCommand<K, V> get(K key) {
+        return new TxCommand<>(Op.GET, key, null, null, 0);
+    }
+
+    public static <K, V> TxCommand<K, V> delete(K key) {
+        return new TxCommand<>(Op.DELETE, key, null, null, 0);
+    }
+
+    public static <K, V> TxCommand<K, V> rename(K key, K target) {
+        return new TxCommand<>(Op.RENAME, key, target, null, 0);
+    }
+
+    public static <K, V> TxCommand<K, V> exists(K key) {
+        return new TxCommand<>(Op.EXISTS, key, null, null, 0);
+    }
+
+    public static <K, V> TxCommand<K, V> pttl(K key) {
+        return new TxCommand<>(Op.PTTL, key, null, null, 0);
+    }
+}
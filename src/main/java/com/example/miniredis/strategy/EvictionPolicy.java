@@ -1,9 +1,28 @@
 package com.example.miniredis.strategy;
 
+import java.util.Map;
+
 public interface EvictionPolicy<K> {
     void keyAdded(K key);       // called after a key is added
     void keyAccessed(K key);    // called on GET (or accesses that should affect policy)
     void keyRemoved(K key);     // called when key deleted/evicted/expired
     K evictKey();               // decide which key to evict (may remove internal structures)
     String name();
+
+    /**
+     * Ordering/frequency state for warm restarts: tracked keys in eviction order (first entry is
+     * evicted first), each with a policy-specific weight (e.g. LFU frequency). Empty if the policy
+     * has nothing worth keeping.
+     */
+    default Map<K, Long> exportState() {
+        return Map.of();
+    }
+
+    /**
+     * Rebuild state from {@link #exportState()} output, iterated in its order. By default keys are
+     * re-added in that order, which at least keeps their relative recency.
+     */
+    default void importState(Map<K, Long> state) {
+        state.keySet().forEach(this::keyAdded);
+    }
 }
@@ -0,0 +1,15 @@
+package com.example.miniredis.strategy;
+
+import java.util.List;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * View of the keyspace that sampled eviction policies draw candidates from.
+ */
+public interface KeySampler<K> {
+    int size();
+    List<K> sampleKeys(int n);  // up to n distinct keys; all keys when size() <= n
+    long meta(K key);           // the policy's inline metadata for the key
+    void setMeta(K key, long meta);
+    void forEachMeta(ObjLongConsumer<K> action);
+}
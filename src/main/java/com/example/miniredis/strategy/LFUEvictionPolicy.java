@@ -60,6 +60,29 @@ public class LFUEvictionPolicy<K> implements EvictionPolicy<K> {
         return evict;
     }
 
+    @Override
+    public synchronized Map<K, Long> exportState() {
+        // lowest frequency first, insertion order within a frequency: the order evictKey() follows
+        Map<K, Long> state = new LinkedHashMap<>();
+        new TreeMap<>(freqMap).forEach((freq, keys) -> keys.forEach(k -> state.put(k, (long) freq)));
+        return state;
+    }
+
+    @Override
+    public synchronized void importState(Map<K, Long> state) {
+        keyFreq.clear();
+        freqMap.clear();
+        minFreq = 1;
+        int min = Integer.MAX_VALUE;
+        for (Map.Entry<K, Long> e : state.entrySet()) {
+            int freq = (int) Math.max(1, Math.min(Integer.MAX_VALUE, e.getValue()));
+            keyFreq.put(e.getKey(), freq);
+            freqMap.computeIfAbsent(freq, f -> new LinkedHashSet<>()).add(e.getKey());
+            min = Math.min(min, freq);
+        }
+        if (min != Integer.MAX_VALUE) minFreq = min;
+    }
+
     @Override
     public String name() {
         return "LFU";
@@ -37,6 +37,20 @@ public class LRUCachePolicy<K> implements EvictionPolicy<K> {
         return oldest;
     }
 
+    @Override
+    public synchronized Map<K, Long> exportState() {
+        // iteration order is least -> most recently used, i.e. eviction order
+        Map<K, Long> state = new LinkedHashMap<>();
+        order.keySet().forEach(k -> state.put(k, 0L));
+        return state;
+    }
+
+    @Override
+    public synchronized void importState(Map<K, Long> state) {
+        order.clear();
+        state.keySet().forEach(k -> order.put(k, Boolean.TRUE));
+    }
+
     @Override
     public String name() {
         return "LRU";
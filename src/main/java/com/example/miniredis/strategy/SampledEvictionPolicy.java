@@ -0,0 +1,85 @@
+package com.example.miniredis.strategy;
+
+import java.util.*;
+
+/**
+ * Eviction policy whose per-key state is a single long stored inline in the keyspace table
+ * rather than in a map of its own. Eviction samples a few keys and evicts the worst of them,
+ * the way Redis approximates LRU/LFU.
+ */
+public abstract class SampledEvictionPolicy<K> implements EvictionPolicy<K> {
+
+    public static final int DEFAULT_SAMPLES = 5; // Redis' maxmemory-samples
+
+    private final int samples;
+    private KeySampler<K> sampler;
+
+    protected SampledEvictionPolicy(int samples) {
+        if (samples <= 0) throw new IllegalArgumentException("samples must be positive");
+        this.samples = samples;
+    }
+
+    public void bind(KeySampler<K> sampler) {
+        this.sampler = sampler;
+    }
+
+    public abstract long initialMeta(long nowMillis);   // metadata for a newly added key
+    public abstract long touch(long meta, long nowMillis); // metadata after an access
+
+    protected abstract long score(long meta, long nowMillis); // lowest score is evicted first
+
+    // the store maintains the inline metadata, nothing to track here
+    @Override
+    public void keyAdded(K key) {
+    }
+
+    @Override
+    public void keyAccessed(K key) {
+    }
+
+    @Override
+    public void keyRemoved(K key) {
+    }
+
+    @Override
+    public Map<K, Long> exportState() {
+        requireSampler();
+        long now = System.currentTimeMillis();
+        List<Map.Entry<K, Long>> entries = new ArrayList<>(sampler.size());
+        sampler.forEachMeta((k, meta) -> entries.add(Map.entry(k, meta)));
+        entries.sort(Comparator.comparingLong(e -> score(e.getValue(), now)));
+        Map<K, Long> state = new LinkedHashMap<>();
+        entries.forEach(e -> state.put(e.getKey(), e.getValue()));
+        return state;
+    }
+
+    /**
+     * The weights are this policy's own inline metadata; write them straight back into the keyspace.
+     */
+    @Override
+    public void importState(Map<K, Long> state) {
+        requireSampler();
+        state.forEach(sampler::setMeta);
+    }
+
+    @Override
+    public K evictKey() {
+        requireSampler();
+        long now = System.currentTimeMillis();
+        List<K> candidates = sampler.sampleKeys(samples);
+        K victim = null;
+        long best = Long.MAX_VALUE;
+        for (K key : candidates) {
+            long score = score(sampler.meta(key), now);
+            if (victim == null || score < best) {
+                victim = key;
+                best = score;
+            }
+        }
+        return victim;
+    }
+
+    private void requireSampler() {
+        if (sampler == null) throw new IllegalStateException(name() + " policy is not bound to a keyspace");
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.miniredis.strategy;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Approximated LFU with Redis' encoding: the low 8 bits are a logarithmic access counter, the
+ * rest is the minute it was last decayed. The counter loses one point per idle decay period,
+ * so keys that were hot once but have gone cold become evictable.
+ */
+public class SampledLFUPolicy<K> extends SampledEvictionPolicy<K> {
+
+    private static final int INIT_COUNTER = 5;  // new keys are not evicted before their first access
+    private static final int MAX_COUNTER = 255;
+    private static final long COUNTER_MASK = 0xFF;
+
+    private final int logFactor;
+    private final long decayMinutes;
+
+    public SampledLFUPolicy() {
+        this(DEFAULT_SAMPLES, 10, 1);
+    }
+
+    public SampledLFUPolicy(int samples, int logFactor, long decayMinutes) {
+        super(samples);
+        this.logFactor = logFactor;
+        this.decayMinutes = decayMinutes;
+    }
+
+    @Override
+    public long initialMeta(long nowMillis) {
+        return pack(minutes(nowMillis), INIT_COUNTER);
+    }
+
+    @Override
+    public long touch(long meta, long nowMillis) {
+        int counter = decayed(meta, nowMillis);
+        if (counter < MAX_COUNTER) {
+            double base = Math.max(0, counter - INIT_COUNTER);
+            if (ThreadLocalRandom.current().nextDouble() < 1.0 / (base * logFactor + 1)) counter++;
+        }
+        return pack(minutes(nowMillis), counter);
+    }
+
+    @Override
+    protected long score(long meta, long nowMillis) {
+        return decayed(meta, nowMillis);
+    }
+
+    @Override
+    public String name() {
+        return "SAMPLED_LFU";
+    }
+
+    private int decayed(long meta, long nowMillis) {
+        int counter = (int) (meta & COUNTER_MASK);
+        if (decayMinutes <= 0) return counter;
+        long periods = (minutes(nowMillis) - (meta >>> 8)) / decayMinutes;
+        return (int) Math.max(0, counter - periods);
+    }
+
+    private static long minutes(long millis) {
+        return millis / 60_000;
+    }
+
+    private static long pack(long minutes, int counter) {
+        return (minutes << 8) | counter;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.miniredis.strategy;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Approximated LRU: metadata is a logical access clock; evicts the least recently used of a sample.
+ */
+public class SampledLRUPolicy<K> extends SampledEvictionPolicy<K> {
+
+    // logical clock rather than wall time, so accesses within the same millisecond stay ordered
+    private final AtomicLong clock = new AtomicLong();
+
+    public SampledLRUPolicy() {
+        this(DEFAULT_SAMPLES);
+    }
+
+    public SampledLRUPolicy(int samples) {
+        super(samples);
+    }
+
+    @Override
+    public long initialMeta(long nowMillis) {
+        return clock.incrementAndGet();
+    }
+
+    @Override
+    public long touch(long meta, long nowMillis) {
+        return clock.incrementAndGet();
+    }
+
+    @Override
+    public void importState(Map<K, Long> state) {
+        super.importState(state);
+        // keep the clock ahead of every restored timestamp so new accesses rank as more recent
+        state.values().stream().mapToLong(Long::longValue).max()
+                .ifPresent(max -> clock.accumulateAndGet(max, Math::max));
+    }
+
+    @Override
+    protected long score(long meta, long nowMillis) {
+        return meta;
+    }
+
+    @Override
+    public String name() {
+        return "SAMPLED_LRU";
+    }
+}
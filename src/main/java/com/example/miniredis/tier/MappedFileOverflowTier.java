@@ -0,0 +1,205 @@
+package com.example.miniredis.tier;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Log-structured overflow tier backed by a memory-mapped file.
+ * Values are appended to the end of the log; an in-memory index maps each key to
+ * the location of its latest record. When the log is full, live records are compacted
+ * to the front of the file. The file is scratch space: it is recreated on startup and
+ * deleted on close, the index is the source of truth.
+ */
+public class MappedFileOverflowTier<K, V> implements OverflowTier<K, V> {
+
+    private static final Logger logger = Logger.getLogger(MappedFileOverflowTier.class.getName());
+
+    private final Path path;
+    private final int capacityBytes;
+    private final FileChannel channel;
+    private final MappedByteBuffer log;
+
+    // key -> location of its latest record in the log
+    private final Map<K, Slot> index = new HashMap<>();
+    private int writePosition;
+    private long liveBytes;
+
+    private long spills;
+    private long dropped;
+    private long compactions;
+
+    private record Slot(int offset, int length, long expiryTime) {
+        boolean isExpired() {
+            return expiryTime != Long.MAX_VALUE && System.currentTimeMillis() >= expiryTime;
+        }
+    }
+
+    public MappedFileOverflowTier(Path path, int capacityBytes) {
+        if (capacityBytes <= 0) throw new IllegalArgumentException("capacityBytes must be positive");
+        this.path = path;
+        this.capacityBytes = capacityBytes;
+        try {
+            Files.deleteIfExists(path);
+            this.channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.log = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacityBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open overflow file " + path, e);
+        }
+    }
+
+    @Override
+    public boolean put(K key, V value, long expiryTime) {
+        byte[] bytes = serialize(value);
+        synchronized (this) {
+            dropSlot(index.remove(key));
+            if (bytes == null || bytes.length > capacityBytes) {
+                dropped++;
+                return false;
+            }
+            if (writePosition + bytes.length > capacityBytes) {
+                compact();
+                if (writePosition + bytes.length > capacityBytes) {
+                    dropped++;
+                    logger.fine(() -> "Overflow tier full, dropped key: " + key);
+                    return false;
+                }
+            }
+            log.put(writePosition, bytes);
+            index.put(key, new Slot(writePosition, bytes.length, expiryTime));
+            writePosition += bytes.length;
+            liveBytes += bytes.length;
+            spills++;
+            return true;
+        }
+    }
+
+    @Override
+    public Entry<V> remove(K key) {
+        byte[] bytes;
+        Slot slot;
+        synchronized (this) {
+            slot = index.remove(key);
+            if (slot == null) return null;
+            dropSlot(slot);
+            if (slot.isExpired()) return null;
+            bytes = new byte[slot.length()];
+            log.get(slot.offset(), bytes);
+        }
+        V value = deserialize(bytes);
+        return value == null ? null : new Entry<>(value, slot.expiryTime());
+    }
+
+    @Override
+    public Entry<V> peek(K key) {
+        byte[] bytes;
+        Slot slot;
+        synchronized (this) {
+            slot = index.get(key);
+            if (slot == null || slot.isExpired()) return null;
+            bytes = new byte[slot.length()];
+            log.get(slot.offset(), bytes);
+        }
+        V value = deserialize(bytes);
+        return value == null ? null : new Entry<>(value, slot.expiryTime());
+    }
+
+    @Override
+    public synchronized List<K> keys() {
+        return new ArrayList<>(index.keySet());
+    }
+
+    @Override
+    public synchronized void invalidate(K key) {
+        dropSlot(index.remove(key));
+    }
+
+    @Override
+    public synchronized int size() {
+        return index.size();
+    }
+
+    @Override
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", index.size());
+        stats.put("liveBytes", liveBytes);
+        stats.put("logBytes", writePosition);
+        stats.put("capacityBytes", capacityBytes);
+        stats.put("spills", spills);
+        stats.put("dropped", dropped);
+        stats.put("compactions", compactions);
+        stats.put("file", path.toString());
+        return stats;
+    }
+
+    @Override
+    public synchronized void close() {
+        index.clear();
+        try {
+            channel.close();
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warning("Failed to close overflow file: " + e.getMessage());
+        }
+    }
+
+    private void dropSlot(Slot slot) {
+        if (slot != null) liveBytes -= slot.length();
+    }
+
+    /**
+     * Slide live records to the front of the log in offset order, skipping expired ones.
+     * Destinations never overtake sources, so records can be moved in place.
+     */
+    private void compact() {
+        List<Map.Entry<K, Slot>> live = new ArrayList<>(index.entrySet());
+        live.sort(Comparator.comparingInt(e -> e.getValue().offset()));
+        int cursor = 0;
+        for (Map.Entry<K, Slot> e : live) {
+            Slot slot = e.getValue();
+            if (slot.isExpired()) {
+                index.remove(e.getKey());
+                liveBytes -= slot.length();
+                continue;
+            }
+            if (slot.offset() != cursor) {
+                byte[] bytes = new byte[slot.length()];
+                log.get(slot.offset(), bytes);
+                log.put(cursor, bytes);
+                index.put(e.getKey(), new Slot(cursor, slot.length(), slot.expiryTime()));
+            }
+            cursor += slot.length();
+        }
+        writePosition = cursor;
+        compactions++;
+        logger.fine(() -> "Compacted overflow log to " + writePosition + " bytes");
+    }
+
+    private byte[] serialize(V value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            logger.warning("Cannot spill value to overflow tier: " + e.getMessage());
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private V deserialize(byte[] bytes) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (V) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            logger.warning("Cannot read value from overflow tier: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.miniredis.tier;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Second storage tier that receives entries evicted from memory.
+ * A miss in memory checks this tier before going back to the origin.
+ */
+public interface OverflowTier<K, V> {
+    boolean put(K key, V value, long expiryTime); // false if the entry could not be spilled
+    Entry<V> remove(K key);                       // take the entry out (for promotion); null if absent or expired
+    Entry<V> peek(K key);                         // read the entry and leave it in place; null if absent or expired
+    List<K> keys();                               // keys currently spilled, expired ones included
+    void invalidate(K key);                       // drop any stale copy without reading it back
+    int size();
+    Map<String, Object> stats();
+    void close();
+
+    record Entry<V>(V value, long expiryTime) { // expiryTime: absolute epoch millis, Long.MAX_VALUE => never
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.miniredis.client.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CacheLoadGeneratorTest {
+
+    @Test
+    void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 1; v <= 10_000; v++) histogram.record(v * 1_000);
+
+        assertThat(histogram.getTotalCount()).isEqualTo(10_000);
+        assertThat((double) histogram.valueAtPercentile(50)).isCloseTo(5_000_000, within(100_000.0));
+        assertThat((double) histogram.valueAtPercentile(99)).isCloseTo(9_900_000, within(200_000.0));
+        assertThat(histogram.valueAtPercentile(100)).isEqualTo(10_000_000);
+    }
+
+    @Test
+    void testCoordinatedOmissionCorrectionBackfillsStall() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordCorrected(10_000_000, 1_000_000); // one 10 ms stall at a 1 ms cadence
+        assertThat(histogram.getTotalCount()).isEqualTo(10);
+    }
+
+    @Test
+    void testZipfianSkewsTowardLowRanks() {
+        ZipfianGenerator zipf = new ZipfianGenerator(1_000, 0.99);
+        Random random = new Random(42);
+        int hottest = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long rank = zipf.next(random);
+            assertThat(rank).isBetween(0L, 999L);
+            if (rank == 0) hottest++;
+        }
+        assertThat(hottest).isGreaterThan(1_000); // uniform would give ~10
+    }
+
+    @Test
+    void testClosedLoopRunAgainstStore() throws Exception {
+        LoadOptions options = LoadOptions.parse(new String[]{
+                "--threads=2", "--keys=500", "--capacity=250", "--warmup-seconds=0", "--duration-seconds=1"});
+        try (LoadTarget target = CacheLoadGenerator.createTarget(options)) {
+            LoadReport report = new CacheLoadGenerator(options, target).run();
+            assertThat(report.getGets() + report.getSets()).isPositive();
+            assertThat(report.getErrors()).isZero();
+            assertThat(report.getHitRatio()).isBetween(0.0, 1.0);
+        }
+    }
+}
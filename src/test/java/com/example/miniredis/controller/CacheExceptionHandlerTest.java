@@ -0,0 +1,69 @@
+package com.example.miniredis.controller;
+
+import com.example.miniredis.config.CacheProperties;
+import com.example.miniredis.dtos.CommandRequest;
+import com.example.miniredis.dtos.ExecResult;
+import com.example.miniredis.monitoring.MemoryPressureException;
+import com.example.miniredis.service.CacheService;
+import com.example.miniredis.service.TransactionService;
+import com.example.miniredis.store.CacheStore;
+import com.example.miniredis.strategy.LRUCachePolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class CacheExceptionHandlerTest {
+
+    private final CacheStore<String, Object> store = new CacheStore<>(10, new LRUCachePolicy<>(), null);
+
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new CacheController<>(new CacheService<>(store) {
+                @Override
+                public void set(String key, Object value, long ttlMillis) {
+                    throw new MemoryPressureException("heap critical");
+                }
+            }), new TransactionController(new TransactionService(store, new CacheProperties()) {
+                @Override
+                public ExecResult batch(List<CommandRequest> commands) {
+                    throw new MemoryPressureException("heap critical");
+                }
+            }))
+            .setControllerAdvice(new CacheExceptionHandler())
+            .build();
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void testMemoryPressureIsServiceUnavailableOnEveryController() throws Exception {
+        mockMvc.perform(post("/cache").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"key\":\"k\",\"value\":\"v\",\"ttl\":0}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(content().string("heap critical"));
+        mockMvc.perform(post("/cache/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"op\":\"SET\",\"key\":\"k\",\"value\":\"v\"}]"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testInvalidInputIsBadRequestAndUnknownTransactionIsNotFound() throws Exception {
+        mockMvc.perform(post("/cache/tx/no-such-id/exec"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("no such transaction: no-such-id"));
+        mockMvc.perform(post("/cache/tx/no-such-id/commands").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"op\":\"INCR\",\"key\":\"k\"}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("unknown op: INCR"));
+    }
+}
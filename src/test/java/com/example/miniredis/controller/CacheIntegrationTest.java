@@ -4,6 +4,7 @@ import com.example.miniredis.service.CacheService;
 import com.example.miniredis.store.CacheStore;
 import com.example.miniredis.strategy.LFUEvictionPolicy;
 import com.example.miniredis.strategy.LRUCachePolicy;
+import com.example.miniredis.persistence.InMemoryPersistenceManager;
 import com.example.miniredis.persistence.PersistenceManager;
 import org.junit.jupiter.api.*;
 import org.mockito.Mockito;
@@ -109,4 +110,16 @@ public class CacheIntegrationTest {
         assertFalse(keys.contains("C"), "LFU eviction should remove least frequently used key");
         assertTrue(keys.containsAll(Set.of("A", "B", "D")));
     }
+
+    @Test
+    @Order(7)
+    void testNullValueIsRejectedAndPersistenceKeepsWorking() {
+        InMemoryPersistenceManager<String, String> persistence = new InMemoryPersistenceManager<>();
+        CacheService<String, String> service = new CacheService<>(new CacheStore<>(3, new LRUCachePolicy<>(), persistence));
+
+        assertThrows(IllegalArgumentException.class, () -> service.set("N", null, 0));
+        service.set("A", "ValueA", 0);
+
+        assertEquals(Map.of("A", "ValueA"), persistence.load());
+    }
 }
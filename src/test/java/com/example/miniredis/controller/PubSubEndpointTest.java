@@ -0,0 +1,100 @@
+package com.example.miniredis.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PubSubEndpointTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    @Timeout(20)
+    void testSubscriberReceivesMessageAndPatternFramesOverSse() throws Exception {
+        HttpRequest subscribe = HttpRequest.newBuilder(
+                uri("/pubsub/subscribe?channel=news.tech&pattern=news.*")).GET().build();
+        HttpResponse<Stream<String>> stream = client.send(subscribe, HttpResponse.BodyHandlers.ofLines());
+        assertThat(stream.statusCode()).isEqualTo(200);
+        assertThat(stream.headers().firstValue("Content-Type")).hasValueSatisfying(
+                type -> assertThat(type).startsWith("text/event-stream"));
+
+        try (Stream<String> body = stream.body()) {
+            Iterator<String> lines = body.iterator();
+            assertThat(nextEvent(lines)).startsWith("event:subscribe");
+
+            // the subscription is registered right after the confirmation event is sent
+            while (!publish("news.tech", "hello").contains("\"receivers\":2")) Thread.sleep(20);
+
+            String message = null;
+            String pmessage = null;
+            while (message == null || pmessage == null) {
+                String event = nextEvent(lines);
+                if (event.startsWith("event: message")) message = event;
+                else if (event.startsWith("event: pmessage")) pmessage = event;
+            }
+            assertThat(message).startsWith("event: message\n")
+                    .contains("\"channel\":\"news.tech\"", "\"hello\"");
+            assertThat(pmessage).startsWith("event: pmessage\n")
+                    .contains("\"pattern\":\"news.*\"", "\"channel\":\"news.tech\"", "\"hello\"");
+        }
+    }
+
+    @Test
+    void testInvalidSubscriptionsAreBadRequests() throws Exception {
+        HttpResponse<String> empty = client.send(HttpRequest.newBuilder(uri("/pubsub/subscribe")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(empty.statusCode()).isEqualTo(400);
+        assertThat(empty.body()).contains("at least one channel or pattern");
+
+        HttpResponse<String> unterminated = client.send(HttpRequest.newBuilder(
+                        uri("/pubsub/subscribe?channel=orders&pattern=news.%5Bab")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(unterminated.statusCode()).isEqualTo(400);
+        assertThat(unterminated.body()).contains("Unterminated [");
+
+        // the channel subscribed before the bad pattern was rejected is released again
+        HttpResponse<String> channels = client.send(HttpRequest.newBuilder(uri("/pubsub/channels")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(channels.body()).doesNotContain("orders");
+    }
+
+    private String publish(String channel, String message) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/pubsub/" + channel))
+                .header("Content-Type", "text/plain")
+                .POST(HttpRequest.BodyPublishers.ofString(message))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    // one SSE event: its lines up to the blank separator
+    private static String nextEvent(Iterator<String> lines) {
+        StringBuilder event = new StringBuilder();
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.isEmpty()) {
+                if (!event.isEmpty()) return event.toString();
+                continue;
+            }
+            event.append(line).append('\n');
+        }
+        return event.toString();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.miniredis.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RawValueEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testBinaryRoundTrip() throws Exception {
+        byte[] value = new byte[64 * 1024];
+        ThreadLocalRandom.current().nextBytes(value);
+
+        mockMvc.perform(put("/cache/raw/blob").contentType(MediaType.APPLICATION_OCTET_STREAM).content(value))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/cache/raw/blob"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(header().longValue("Content-Length", value.length))
+                .andExpect(content().bytes(value));
+    }
+
+    @Test
+    void testTtlHeader() throws Exception {
+        mockMvc.perform(put("/cache/raw/short").contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .header(CacheController.TTL_HEADER, "200").content(new byte[]{1, 2, 3}))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/cache/raw/short")).andExpect(status().isOk());
+        Thread.sleep(400);
+        mockMvc.perform(get("/cache/raw/short")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testJsonValueIsNotServedAsBinary() throws Exception {
+        mockMvc.perform(post("/cache").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"key\":\"text\",\"value\":\"hello\",\"ttl\":0}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/cache/raw/text")).andExpect(status().isNotAcceptable());
+        mockMvc.perform(get("/cache/raw/missing")).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.miniredis.monitoring;
+
+import com.example.miniredis.dtos.HotKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotKeyTrackerTest {
+
+    @Test
+    void testHottestKeysAreRankedFirst() {
+        HotKeyTracker<String> tracker = new HotKeyTracker<>(3, 1, 1024, 4, 60_000);
+        for (int i = 0; i < 1000; i++) tracker.recordAccess("viral");
+        for (int i = 0; i < 200; i++) tracker.recordAccess("warm");
+        for (int i = 0; i < 500; i++) tracker.recordAccess("cold-" + i);
+
+        List<HotKey<String>> hot = tracker.topK();
+        assertThat(hot).hasSizeLessThanOrEqualTo(3);
+        assertThat(hot.get(0).getKey()).isEqualTo("viral");
+        assertThat(hot.get(0).getEstimatedCount()).isGreaterThanOrEqualTo(1000);
+        assertThat(hot.get(1).getKey()).isEqualTo("warm");
+        assertThat(hot.get(0).getEstimatedQps()).isPositive();
+    }
+
+    @Test
+    void testCountsDecayOverTime() {
+        HotKeyTracker<String> tracker = new HotKeyTracker<>(2, 1, 1024, 4, 50);
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 100; i++) tracker.record("old", start);
+        for (int i = 0; i < 30; i++) tracker.record("new", start + 120); // two halvings later: old = 25
+
+        List<HotKey<String>> hot = tracker.topK();
+        assertThat(hot.get(0).getKey()).isEqualTo("new");
+    }
+
+    @Test
+    void testReset() {
+        HotKeyTracker<String> tracker = new HotKeyTracker<>(2, 1, 64, 2, 60_000);
+        tracker.recordAccess("A");
+        tracker.reset();
+        assertThat(tracker.topK()).isEmpty();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.miniredis.monitoring;
+
+import com.example.miniredis.store.CacheStore;
+import com.example.miniredis.strategy.LRUCachePolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemoryGuardTest {
+
+    private final CacheStore<String, String> store = new CacheStore<>(1000, new LRUCachePolicy<>(), null);
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    private MemoryGuard guard(MemoryGuard.CriticalAction action) {
+        MemoryGuard guard = new MemoryGuard(0.7, 0.9, 1, 1000, action, 1, 1000);
+        store.setMemoryGuard(guard);
+        for (int i = 0; i < 100; i++) store.set("K" + i, "V" + i, 0);
+        return guard;
+    }
+
+    @Test
+    void testElevatedPressureEvictsLeastRecentlyUsedBatch() {
+        MemoryGuard guard = guard(MemoryGuard.CriticalAction.REJECT);
+
+        guard.onHeapUsage(0.8); // target 0.65 => shrink by (0.8 - 0.65) / 0.8 ~ 19%
+        assertThat(guard.getLevel()).isEqualTo(MemoryGuard.Level.ELEVATED);
+        assertThat(store.size()).isEqualTo(81);
+        assertThat(store.containsKey("K0")).isFalse();
+        assertThat(store.containsKey("K99")).isTrue();
+        assertThat(guard.stats()).containsEntry("evictedKeys", 19L);
+
+        store.set("new", "value", 0); // writes still allowed
+        guard.onHeapUsage(0.5);
+        assertThat(guard.getLevel()).isEqualTo(MemoryGuard.Level.NORMAL);
+        assertThat(store.size()).isEqualTo(82);
+    }
+
+    @Test
+    void testCriticalPressureRejectsWritesUntilRelieved() {
+        MemoryGuard guard = guard(MemoryGuard.CriticalAction.REJECT);
+
+        guard.onHeapUsage(0.95);
+        assertThat(guard.getLevel()).isEqualTo(MemoryGuard.Level.CRITICAL);
+        assertThatThrownBy(() -> store.set("blocked", "value", 0)).isInstanceOf(MemoryPressureException.class);
+        assertThat(store.get("K99")).isEqualTo("V99"); // reads are unaffected
+        assertThat(guard.stats()).containsEntry("rejectedWrites", 1L);
+
+        guard.onHeapUsage(0.6);
+        store.set("allowed", "value", 0);
+        assertThat(store.get("allowed")).isEqualTo("value");
+    }
+
+    @Test
+    void testThrottleModeDelaysInsteadOfRejecting() {
+        MemoryGuard guard = guard(MemoryGuard.CriticalAction.THROTTLE);
+
+        guard.onHeapUsage(0.95);
+        store.set("slow", "value", 0);
+        assertThat(store.get("slow")).isEqualTo("value");
+        assertThat(guard.stats()).containsEntry("throttledWrites", 1L);
+    }
+}
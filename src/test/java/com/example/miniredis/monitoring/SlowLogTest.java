@@ -0,0 +1,68 @@
+package com.example.miniredis.monitoring;
+
+import com.example.miniredis.dtos.SlowLogEntry;
+import com.example.miniredis.persistence.InMemoryPersistenceManager;
+import com.example.miniredis.store.CacheStore;
+import com.example.miniredis.strategy.LRUCachePolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowLogTest {
+
+    @Test
+    void testRingKeepsNewestEntries() {
+        SlowLog slowLog = new SlowLog(3, 0);
+        for (int i = 0; i < 5; i++) {
+            slowLog.recordIfSlow("GET", "K" + i, new CommandTimer());
+        }
+        List<SlowLogEntry> entries = slowLog.get(10);
+        assertThat(entries).extracting(SlowLogEntry::getKey).containsExactly("K4", "K3", "K2");
+        assertThat(slowLog.size()).isEqualTo(3);
+
+        slowLog.reset();
+        assertThat(slowLog.get(10)).isEmpty();
+        slowLog.recordIfSlow("SET", "K5", new CommandTimer());
+        assertThat(slowLog.get(10)).extracting(SlowLogEntry::getKey).containsExactly("K5");
+    }
+
+    @Test
+    void testFastCommandsAreNotRecorded() {
+        SlowLog slowLog = new SlowLog(8, 60_000_000); // one minute
+        CacheStore<String, String> store = new CacheStore<>(2, new LRUCachePolicy<>(), null);
+        store.setSlowLog(slowLog);
+        store.set("A", "Apple", 0);
+        store.get("A");
+        assertThat(slowLog.get(10)).isEmpty();
+        store.shutdown();
+    }
+
+    @Test
+    void testSlowPersistenceIsAttributed() {
+        SlowLog slowLog = new SlowLog(8, 0);
+        CacheStore<String, String> store = new CacheStore<>(2, new LRUCachePolicy<>(), new SlowPersistence());
+        store.setSlowLog(slowLog);
+        store.set("A", "Apple", 0);
+
+        SlowLogEntry entry = slowLog.get(1).get(0);
+        assertThat(entry.getCommand()).isEqualTo("SET");
+        assertThat(entry.getPersistenceMicros()).isGreaterThanOrEqualTo(20_000);
+        assertThat(entry.getDurationMicros()).isGreaterThanOrEqualTo(entry.getPersistenceMicros());
+        store.shutdown();
+    }
+
+    static class SlowPersistence extends InMemoryPersistenceManager<String, String> {
+        @Override
+        public void save(Map<String, String> snapshot) {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.save(snapshot);
+        }
+    }
+}
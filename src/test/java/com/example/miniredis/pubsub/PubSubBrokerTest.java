@@ -0,0 +1,153 @@
+package com.example.miniredis.pubsub;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PubSubBrokerTest {
+
+    private final PubSubBroker broker = new PubSubBroker(2, 4);
+
+    @AfterEach
+    void tearDown() {
+        broker.shutdown();
+    }
+
+    @Test
+    void testPublishFansOutToChannelAndPatternSubscribers() throws InterruptedException {
+        RecordingSink a = new RecordingSink(1);
+        RecordingSink b = new RecordingSink(1);
+        RecordingSink other = new RecordingSink(1);
+        broker.subscribe(broker.newSubscriber(a), "news.tech");
+        broker.psubscribe(broker.newSubscriber(b), "news.*");
+        broker.subscribe(broker.newSubscriber(other), "sports");
+
+        assertThat(broker.publish("news.tech", "hello")).isEqualTo(2);
+        assertThat(a.await()).isTrue();
+        assertThat(b.await()).isTrue();
+        assertThat(a.frames.get(0)).startsWith("event: message\n").contains("\"channel\":\"news.tech\"", "\"hello\"");
+        assertThat(b.frames.get(0)).startsWith("event: pmessage\n").contains("\"pattern\":\"news.*\"");
+        assertThat(other.frames).isEmpty();
+    }
+
+    @Test
+    void testUnsubscribeStopsDelivery() {
+        Subscriber subscriber = broker.newSubscriber(new RecordingSink(1));
+        broker.subscribe(subscriber, "ch");
+        assertThat(broker.channelCounts()).containsEntry("ch", 1);
+
+        broker.unsubscribe(subscriber, "ch");
+        assertThat(broker.channelCounts()).isEmpty();
+        assertThat(broker.publish("ch", "x")).isZero();
+    }
+
+    @Test
+    void testSlowConsumerIsDisconnected() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink stuck = new RecordingSink(1) {
+            @Override
+            public void write(byte[] frame) {
+                try {
+                    release.await(); // never drains until released
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        Subscriber subscriber = broker.newSubscriber(stuck);
+        broker.subscribe(subscriber, "ch");
+
+        int accepted = 0;
+        for (int i = 0; i < 10; i++) accepted += broker.publish("ch", "m" + i);
+        assertThat(accepted).isLessThan(10);
+        assertThat(broker.stats()).containsEntry("slowConsumersDropped", 1L);
+
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!subscriber.isClosed() && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        assertThat(subscriber.isClosed()).isTrue();
+        assertThat(broker.channelCounts()).isEmpty();
+    }
+
+    @Test
+    void testStuckWriteDoesNotStarveHealthySubscribers() throws InterruptedException {
+        PubSubBroker single = new PubSubBroker(1, 1024, 100); // one delivery thread, 100ms write timeout
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink stuck = new RecordingSink(1) {
+            @Override
+            public void write(byte[] frame) {
+                try {
+                    release.await(); // a socket that never accepts another byte
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        RecordingSink healthy = new RecordingSink(50);
+        try {
+            Subscriber stuckSubscriber = single.newSubscriber(stuck);
+            single.subscribe(stuckSubscriber, "ch");
+            single.publish("ch", "first"); // occupies the only delivery thread
+            Thread.sleep(20);
+            single.subscribe(single.newSubscriber(healthy), "ch");
+
+            for (int i = 0; i < 50; i++) single.publish("ch", "m" + i);
+
+            assertThat(healthy.await()).isTrue();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!stuckSubscriber.isClosed() && System.currentTimeMillis() < deadline) Thread.sleep(10);
+            assertThat(stuckSubscriber.isClosed()).isTrue();
+            assertThat(single.stats()).containsEntry("stuckWritesAbandoned", 1L)
+                    .containsEntry("deliveryThreads", 2)
+                    .containsEntry("slowConsumersDropped", 0L);
+
+            release.countDown(); // the stuck write returns and its replacement thread is retired
+            deadline = System.currentTimeMillis() + 5000;
+            while (!single.stats().get("deliveryThreads").equals(1) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(single.stats()).containsEntry("deliveryThreads", 1);
+        } finally {
+            release.countDown();
+            single.shutdown();
+        }
+    }
+
+    @Test
+    void testGlobPattern() {
+        assertThat(new GlobPattern("h?llo").matches("hello")).isTrue();
+        assertThat(new GlobPattern("h[ae]llo").matches("hallo")).isTrue();
+        assertThat(new GlobPattern("h[ae]llo").matches("hillo")).isFalse();
+        assertThat(new GlobPattern("a.*").matches("abc")).isFalse(); // '.' is literal
+    }
+
+    private static class RecordingSink implements MessageSink {
+        final List<String> frames = new CopyOnWriteArrayList<>();
+        final CountDownLatch received;
+
+        RecordingSink(int expected) {
+            received = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void write(byte[] frame) {
+            frames.add(new String(frame, StandardCharsets.UTF_8));
+            received.countDown();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        boolean await() throws InterruptedException {
+            return received.await(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.miniredis.service;
+
+import com.example.miniredis.bulk.BulkFormat;
+import com.example.miniredis.config.CacheProperties;
+import com.example.miniredis.dtos.ImportResult;
+import com.example.miniredis.persistence.InMemoryPersistenceManager;
+import com.example.miniredis.store.CacheStore;
+import com.example.miniredis.strategy.LRUCachePolicy;
+import com.example.miniredis.tier.MappedFileOverflowTier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkTransferServiceTest {
+
+    private final CacheStore<String, Object> source = new CacheStore<>(100, new LRUCachePolicy<>(), null);
+    private final CacheStore<String, Object> target = new CacheStore<>(100, new LRUCachePolicy<>(), null);
+    private final CacheProperties properties = new CacheProperties();
+
+    @AfterEach
+    void tearDown() {
+        source.shutdown();
+        target.shutdown();
+    }
+
+    @ParameterizedTest
+    @EnumSource(BulkFormat.class)
+    void testRoundTripPreservesValuesAndTtls(BulkFormat format) throws Exception {
+        source.set("text", "hello", 0);
+        source.set("blob", new byte[]{0, 1, 2, (byte) 255}, 0);
+        source.set("json", Map.of("n", 42), 0);
+        source.set("ttl", "soon", 60_000);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(new BulkTransferService(source, properties).export(format, out)).isEqualTo(4);
+
+        ImportResult result = new BulkTransferService(target, properties)
+                .importFrom(format, new ByteArrayInputStream(out.toByteArray()), 3);
+        assertThat(result.getImported()).isEqualTo(4);
+        assertThat(result.getBatches()).isEqualTo(2);
+
+        assertThat(target.get("text")).isEqualTo("hello");
+        assertThat((byte[]) target.get("blob")).containsExactly(0, 1, 2, 255);
+        assertThat(target.get("json")).isEqualTo(Map.of("n", 42));
+        assertThat(target.ttlMillis("text")).isEqualTo(-1);
+        // absolute expiry carried over: same deadline, not a fresh 60s
+        assertThat(Math.abs(target.ttlMillis("ttl") - source.ttlMillis("ttl"))).isLessThan(1000);
+    }
+
+    @Test
+    void testExportIncludesEntriesSpilledToTheOverflowTier(@TempDir Path tempDir) throws Exception {
+        CacheStore<String, Object> small = new CacheStore<>(2, new LRUCachePolicy<>(), null,
+                new MappedFileOverflowTier<>(tempDir.resolve("overflow.log"), 64 * 1024));
+        try {
+            for (int i = 0; i < 5; i++) small.set("K" + i, "V" + i, i == 0 ? 60_000 : 0); // K0..K2 spill
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertThat(new BulkTransferService(small, properties).export(BulkFormat.NDJSON, out)).isEqualTo(5);
+            new BulkTransferService(target, properties)
+                    .importFrom(BulkFormat.NDJSON, new ByteArrayInputStream(out.toByteArray()), 1000);
+
+            assertThat(target.listKeys()).containsExactlyInAnyOrder("K0", "K1", "K2", "K3", "K4");
+            assertThat(target.get("K0")).isEqualTo("V0");
+            assertThat(target.ttlMillis("K0")).isBetween(1L, 60_000L);
+            assertThat(small.size()).isEqualTo(2); // exporting does not promote spilled entries
+        } finally {
+            small.shutdown();
+        }
+    }
+
+    @Test
+    void testImportSkipsEntriesThatAlreadyExpired() throws Exception {
+        String ndjson = """
+                {"key":"live","value":"v","expireAt":0}
+                {"key":"gone","value":"v","expireAt":1}
+
+                {"key":"later","value":"v","expireAt":%d}
+                """.formatted(System.currentTimeMillis() + 60_000);
+
+        ImportResult result = new BulkTransferService(target, properties)
+                .importFrom(BulkFormat.NDJSON, new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), 1000);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getSkippedExpired()).isEqualTo(1);
+        assertThat(target.listKeys()).containsExactlyInAnyOrder("live", "later");
+    }
+
+    @Test
+    void testImportClampsBatchSizeToConfiguredMaximum() throws Exception {
+        properties.getBulk().setMaxBatchSize(2);
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 5; i++) ndjson.append("{\"key\":\"K").append(i).append("\",\"value\":\"v\",\"expireAt\":0}\n");
+
+        ImportResult result = new BulkTransferService(target, properties).importFrom(BulkFormat.NDJSON,
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), Integer.MAX_VALUE);
+        assertThat(result.getImported()).isEqualTo(5);
+        assertThat(result.getBatches()).isEqualTo(3);
+    }
+
+    @Test
+    void testImportRejectsOversizedRecordsBeforeBufferingThem() throws Exception {
+        properties.getBulk().setMaxRecordBytes(1024);
+        BulkTransferService service = new BulkTransferService(target, properties);
+
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(binary);
+        data.write("MRSNAP".getBytes(StandardCharsets.US_ASCII));
+        data.writeShort(1);
+        data.writeByte(1);                 // string record
+        data.writeInt(Integer.MAX_VALUE);  // key length from a corrupt or hostile upload
+        assertThatThrownBy(() -> service.importFrom(BulkFormat.BINARY, new ByteArrayInputStream(binary.toByteArray()), 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("1024 byte limit");
+
+        String ndjson = "{\"key\":\"ok\",\"value\":\"v\"}\r\n{\"key\":\"big\",\"value\":\"" + "x".repeat(2048) + "\"}\n";
+        assertThatThrownBy(() -> service.importFrom(BulkFormat.NDJSON, new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2");
+    }
+
+    @Test
+    void testMalformedLineFailsTheImportButKeepsAndPersistsEarlierBatches() throws Exception {
+        InMemoryPersistenceManager<String, Object> persistence = new InMemoryPersistenceManager<>();
+        CacheStore<String, Object> persisted = new CacheStore<>(100, new LRUCachePolicy<>(), persistence);
+        try {
+            String ndjson = """
+                    {"key":"a","value":1}
+                    {"key":"b","value":2}
+                    {"key":"c","value":
+                    """;
+            assertThatThrownBy(() -> new BulkTransferService(persisted, properties)
+                    .importFrom(BulkFormat.NDJSON, new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), 2))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("line 3: malformed JSON");
+
+            assertThat(persisted.listKeys()).containsExactlyInAnyOrder("a", "b");
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (persistence.load().size() < 2) {
+                assertThat(System.currentTimeMillis()).isLessThan(deadline);
+                Thread.sleep(10);
+            }
+            assertThat(persistence.load()).containsOnlyKeys("a", "b");
+        } finally {
+            persisted.shutdown();
+        }
+    }
+
+    @Test
+    void testImportRejectsNullValues() {
+        String ndjson = "{\"key\":\"n\",\"value\":null}\n";
+
+        assertThatThrownBy(() -> new BulkTransferService(target, properties)
+                .importFrom(BulkFormat.NDJSON, new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(target.size()).isZero();
+    }
+}
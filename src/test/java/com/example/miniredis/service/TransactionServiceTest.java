@@ -0,0 +1,129 @@
+package com.example.miniredis.service;
+
+import com.example.miniredis.config.CacheProperties;
+import com.example.miniredis.dtos.CommandRequest;
+import com.example.miniredis.dtos.ExecResult;
+import com.example.miniredis.store.CacheStore;
+import com.example.miniredis.strategy.LRUCachePolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionServiceTest {
+
+    private final CacheStore<String, Object> store = new CacheStore<>(100, new LRUCachePolicy<>(), null);
+    private final TransactionService transactions = new TransactionService(store, new CacheProperties());
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void testBatchRunsCommandsInOrder() {
+        store.set("src", "payload", 60_000);
+
+        ExecResult result = transactions.batch(List.of(
+                command("RENAME", "src", "dst", null),
+                command("SET", "index", null, "dst"),
+                command("GET", "dst", null, null),
+                command("EXISTS", "src", null, null),
+                command("DELETE", "missing", null, null)));
+
+        assertThat(result.isExecuted()).isTrue();
+        assertThat(result.getResults()).containsExactly(true, true, "payload", false, false);
+        assertThat(store.containsKey("src")).isFalse();
+        assertThat(store.ttlMillis("dst")).isBetween(1L, 60_000L); // RENAME keeps the expiry
+    }
+
+    @Test
+    void testExecRunsWhenWatchedKeysAreUntouched() {
+        store.set("balance", 10, 0);
+        String id = transactions.begin();
+        transactions.watch(id, List.of("balance"));
+        store.get("balance"); // reads do not invalidate a watch
+        transactions.queue(id, List.of(command("SET", "balance", null, 5)));
+
+        ExecResult result = transactions.exec(id);
+
+        assertThat(result.isExecuted()).isTrue();
+        assertThat(store.get("balance")).isEqualTo(5);
+    }
+
+    @Test
+    void testExecAbortsWhenWatchedKeyIsWritten() {
+        store.set("balance", 10, 0);
+        String id = transactions.begin();
+        transactions.watch(id, List.of("balance"));
+        transactions.queue(id, List.of(command("SET", "balance", null, 5)));
+        store.set("balance", 20, 0); // concurrent writer
+
+        ExecResult result = transactions.exec(id);
+
+        assertThat(result.isExecuted()).isFalse();
+        assertThat(result.getResults()).isNull();
+        assertThat(store.get("balance")).isEqualTo(20);
+    }
+
+    @Test
+    void testExecAbortsWhenWatchedKeyExpires() throws InterruptedException {
+        store.set("lease", "holder", 20);
+        String id = transactions.begin();
+        transactions.watch(id, List.of("lease"));
+        transactions.queue(id, List.of(command("SET", "owner", null, "me")));
+        Thread.sleep(50);
+
+        assertThat(transactions.exec(id).isExecuted()).isFalse();
+        assertThat(store.containsKey("owner")).isFalse();
+    }
+
+    @Test
+    void testDiscardClosesTheTransaction() {
+        String id = transactions.begin();
+        transactions.watch(id, List.of("k"));
+        transactions.queue(id, List.of(command("SET", "k", null, "v")));
+
+        transactions.discard(id);
+
+        assertThat(transactions.openTransactions()).isZero();
+        assertThat(store.containsKey("k")).isFalse();
+        assertThatThrownBy(() -> transactions.exec(id)).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void testIdleTransactionsAreDiscardedWithoutNewTraffic() throws InterruptedException {
+        CacheProperties properties = new CacheProperties();
+        properties.getTransactions().setIdleTimeoutMillis(50);
+        TransactionService shortLived = new TransactionService(store, properties);
+        String id = shortLived.begin();
+        shortLived.watch(id, List.of("k"));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (shortLived.openTransactions() > 0) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        assertThatThrownBy(() -> shortLived.exec(id)).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void testInvalidCommandsAreRejectedBeforeQueueing() {
+        String id = transactions.begin();
+        assertThatThrownBy(() -> transactions.queue(id, List.of(command("INCR", "k", null, null))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> transactions.queue(id, List.of(command("RENAME", "k", null, null))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> transactions.queue(id, List.of(command("SET", "k", null, null))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(transactions.exec(id).getResults()).isEmpty();
+    }
+
+    private static CommandRequest command(String op, String key, String target, Object value) {
+        return new CommandRequest(op, key, target, value, 0);
+    }
+}
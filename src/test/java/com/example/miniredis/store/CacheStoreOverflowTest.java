@@ -0,0 +1,112 @@
+package com.example.miniredis.store;
+
+import com.example.miniredis.strategy.LRUCachePolicy;
+import com.example.miniredis.tier.MappedFileOverflowTier;
+import com.example.miniredis.tier.OverflowTier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheStoreOverflowTest {
+
+    @TempDir
+    Path tempDir;
+
+    private OverflowTier<String, String> overflowTier;
+    private CacheStore<String, String> store;
+
+    @BeforeEach
+    void setup() {
+        overflowTier = new MappedFileOverflowTier<>(tempDir.resolve("overflow.log"), 4096);
+        store = new CacheStore<>(2, new LRUCachePolicy<>(), null, overflowTier);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void testEvictedEntryIsPromotedFromDisk() {
+        store.set("A", "Apple", 0);
+        store.set("B", "Banana", 0);
+        store.set("C", "Cat", 0); // evicts A to disk
+
+        assertThat(store.listKeys()).containsExactlyInAnyOrder("B", "C");
+        assertThat(overflowTier.size()).isEqualTo(1);
+
+        assertThat(store.get("A")).isEqualTo("Apple"); // promoted, evicts B to disk
+        assertThat(store.listKeys()).containsExactlyInAnyOrder("A", "C");
+        assertThat(store.getOverflowHits().get()).isEqualTo(1);
+        assertThat(store.get("B")).isEqualTo("Banana");
+    }
+
+    @Test
+    void testDeleteAndOverwriteInvalidateDiskCopy() {
+        store.set("A", "Apple", 0);
+        store.set("B", "Banana", 0);
+        store.set("C", "Cat", 0); // A on disk
+
+        store.delete("A");
+        assertThat(store.get("A")).isNull();
+
+        store.set("D", "Dog", 0); // B on disk
+        store.set("B", "Berry", 0);
+        assertThat(overflowTier.size()).isEqualTo(1); // only C left on disk
+        assertThat(store.get("B")).isEqualTo("Berry");
+    }
+
+    @Test
+    void testExpiredEntryOnDiskIsAMiss() throws InterruptedException {
+        store.set("A", "Apple", 300);
+        store.set("B", "Banana", 0);
+        store.set("C", "Cat", 0); // A on disk with its original expiry
+
+        Thread.sleep(400);
+        assertThat(store.get("A")).isNull();
+        assertThat(store.getMisses().get()).isEqualTo(1);
+    }
+
+    @Test
+    void testBatchSeesSpilledKeysTheSameWayForEveryCommand() {
+        store.set("A", "1", 60_000);
+        store.set("B", "2", 0);
+        store.set("C", "3", 0); // A on disk
+        store.set("D", "4", 0); // B on disk
+
+        List<Object> results = store.execute(List.of(
+                TxCommand.exists("A"),
+                TxCommand.pttl("A"),
+                TxCommand.get("A"),
+                TxCommand.exists("B"),
+                TxCommand.rename("B", "E"),
+                TxCommand.exists("missing")), Map.of());
+
+        assertThat(results.get(0)).isEqualTo(true);
+        assertThat((long) results.get(1)).isBetween(1L, 60_000L);
+        assertThat(results.subList(2, 6)).containsExactly("1", true, true, false);
+        assertThat(store.containsKey("E")).isTrue();
+        assertThat(store.containsKey("B")).isFalse();
+        assertThat(store.ttlMillis("C")).isEqualTo(-1); // spilled by the batch, still found
+    }
+
+    @Test
+    void testFullLogIsCompacted() {
+        MappedFileOverflowTier<String, String> tier = new MappedFileOverflowTier<>(tempDir.resolve("small.log"), 512);
+        String value = "x".repeat(100);
+        for (int i = 0; i < 20; i++) {
+            tier.put("K", value + i, Long.MAX_VALUE); // rewrites the same key, leaving garbage behind
+        }
+        assertThat(tier.size()).isEqualTo(1);
+        assertThat((long) tier.stats().get("compactions")).isPositive();
+        assertThat(tier.remove("K").value()).isEqualTo(value + 19);
+        tier.close();
+    }
+}
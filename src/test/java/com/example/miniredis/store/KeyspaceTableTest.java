@@ -0,0 +1,91 @@
+package com.example.miniredis.store;
+
+import com.example.miniredis.strategy.SampledLRUPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyspaceTableTest {
+
+    @Test
+    void testMatchesHashMapUnderRandomOperations() {
+        KeyspaceTable<Integer, String> table = new KeyspaceTable<>();
+        Map<Integer, String> reference = new HashMap<>();
+        Random random = new Random(7);
+        boolean sawRehash = false;
+
+        for (int round = 0; round < 200_000; round++) {
+            // grow for the first half, then shrink, so both resize directions are exercised
+            int key = random.nextInt(round < 100_000 ? 50_000 : 2_000);
+            int op = random.nextInt(10);
+            if (op < 5 && round < 100_000 || op < 2) {
+                String value = "v" + round;
+                assertThat(table.put(key, value, KeyspaceTable.NO_EXPIRY, round)).isEqualTo(!reference.containsKey(key));
+                reference.put(key, value);
+            } else if (op < 8) {
+                assertThat(table.remove(key)).isEqualTo(reference.remove(key) != null);
+            } else {
+                int slot = table.locate(key);
+                if (reference.containsKey(key)) {
+                    assertThat(slot).isNotNegative();
+                    assertThat(table.valueAt(slot)).isEqualTo(reference.get(key));
+                } else {
+                    assertThat(slot).isNegative();
+                }
+            }
+            sawRehash |= table.isRehashing();
+            assertThat(table.size()).isEqualTo(reference.size());
+        }
+
+        assertThat(sawRehash).isTrue();
+        Map<Integer, String> contents = new HashMap<>();
+        table.forEach(contents::put);
+        assertThat(contents).isEqualTo(reference);
+    }
+
+    @Test
+    void testCollectExpired() {
+        KeyspaceTable<String, String> table = new KeyspaceTable<>();
+        long now = System.currentTimeMillis();
+        table.put("live", "1", KeyspaceTable.NO_EXPIRY, 0);
+        table.put("later", "2", now + 60_000, 0);
+        table.put("gone", "3", now - 1, 0);
+
+        List<String> expired = new ArrayList<>();
+        int cursor = 0;
+        do {
+            cursor = table.collectExpired(cursor, 4, now, expired);
+        } while (cursor != 0);
+        assertThat(expired).containsExactly("gone");
+    }
+
+    @Test
+    void testSampledLRUEvictsExactlyWhenSampleCoversKeyspace() {
+        CacheStore<String, String> store = new CacheStore<>(3, new SampledLRUPolicy<>(), null);
+        store.set("A", "Apple", 0);
+        store.set("B", "Banana", 0);
+        store.set("C", "Cat", 0);
+        store.get("A");
+        store.get("B");
+        store.set("D", "Dog", 0); // should evict C
+
+        assertThat(store.listKeys()).containsExactlyInAnyOrder("A", "B", "D");
+        store.shutdown();
+    }
+
+    @Test
+    void testSampledEvictionKeepsStoreAtCapacity() {
+        CacheStore<String, String> store = new CacheStore<>(1_000, new SampledLRUPolicy<>(), null);
+        for (int i = 0; i < 5_000; i++) store.set("key" + i, "v", 0);
+        assertThat(store.size()).isEqualTo(1_000);
+        assertThat(new HashSet<>(store.listKeys())).hasSize(1_000);
+        store.shutdown();
+    }
+}
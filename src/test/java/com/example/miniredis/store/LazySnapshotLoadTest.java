@@ -0,0 +1,249 @@
+package com.example.miniredis.store;
+
+import com.example.miniredis.persistence.InMemoryPersistenceManager;
+import com.example.miniredis.persistence.SnapshotIndex;
+import com.example.miniredis.strategy.LRUCachePolicy;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazySnapshotLoadTest {
+
+    private static final int ENTRIES = 4096;
+
+    @Test
+    void testServesWhileLoadingHottestFirst() throws InterruptedException {
+        SlowPersistence persistence = new SlowPersistence();
+        Map<String, String> snapshot = new HashMap<>();
+        Map<String, Long> coldestFirst = new LinkedHashMap<>();
+        for (int i = 0; i < ENTRIES; i++) {
+            snapshot.put("K" + i, "V" + i);
+            coldestFirst.put("K" + i, 0L); // K0 coldest, K4095 hottest
+        }
+        persistence.save(snapshot);
+        persistence.saveEvictionState(coldestFirst);
+
+        CacheStore<String, String> store = new CacheStore<>(10_000, new LRUCachePolicy<>(), persistence,
+                null, CacheStore.LoadMode.LAZY);
+
+        assertThat(store.loadProgress().loading()).isTrue();
+        assertThat(store.get("K0")).isEqualTo("V0"); // coldest, so faulted in rather than preloaded
+        assertThat(store.loadProgress().faultedIn()).isEqualTo(1);
+        store.set("K1", "updated", 0);
+        store.delete("K2");
+        assertThat(persistence.load().get("K1")).isEqualTo("V1"); // no save over a half-loaded snapshot
+
+        awaitLoaded(store);
+
+        LoadProgress progress = store.loadProgress();
+        assertThat(progress.resolved()).isEqualTo(ENTRIES);
+        assertThat(progress.fraction()).isEqualTo(1.0);
+        assertThat(store.size()).isEqualTo(ENTRIES - 1);
+        assertThat(store.get("K1")).isEqualTo("updated");
+        assertThat(store.containsKey("K2")).isFalse();
+        assertThat(persistence.load()).hasSize(ENTRIES - 1).containsEntry("K1", "updated");
+
+        List<Integer> backgroundOrder = persistence.reads.stream()
+                .filter(key -> !key.equals("K0"))
+                .map(key -> Integer.parseInt(key.substring(1)))
+                .toList();
+        assertThat(backgroundOrder).isSortedAccordingTo(Comparator.reverseOrder());
+        store.shutdown();
+    }
+
+    @Test
+    void testWritesDuringLoadDoNotPushPastCapacity() throws InterruptedException {
+        GatedPersistence persistence = new GatedPersistence();
+        Map<String, String> snapshot = new HashMap<>();
+        for (int i = 0; i < 10; i++) snapshot.put("K" + i, "V" + i);
+        persistence.save(snapshot);
+
+        CacheStore<String, String> store = new CacheStore<>(10, new LRUCachePolicy<>(), persistence,
+                null, CacheStore.LoadMode.LAZY);
+        for (int i = 0; i < 5; i++) store.set("new" + i, "v", 0); // the loader is parked before its first read
+        assertThat(store.get("K0")).isEqualTo("V0");
+        persistence.gate.countDown();
+        awaitLoaded(store);
+
+        assertThat(store.size()).isEqualTo(10);
+        for (int i = 0; i < 5; i++) assertThat(store.containsKey("new" + i)).isTrue();
+        assertThat(store.containsKey("K0")).isTrue();
+        assertThat(store.loadProgress().overCapacity()).isEqualTo(5);
+
+        // the deferred save keeps the snapshot entries that did not fit instead of dropping them
+        Map<String, String> saved = persistence.load();
+        assertThat(saved).hasSize(15);
+        for (int i = 0; i < 10; i++) assertThat(saved).containsEntry("K" + i, "V" + i);
+
+        String left = snapshot.keySet().stream().filter(key -> !store.containsKey(key)).findFirst().orElseThrow();
+        store.delete(left);
+        store.saveAsync();
+        assertThat(persistence.load()).hasSize(14).doesNotContainKey(left);
+        store.shutdown();
+    }
+
+    @Test
+    void testTrafficDuringLoadOutranksSavedEvictionState() throws InterruptedException {
+        GatedPersistence persistence = new GatedPersistence();
+        Map<String, String> snapshot = new HashMap<>();
+        Map<String, Long> coldestFirst = new LinkedHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            snapshot.put("K" + i, "V" + i);
+            coldestFirst.put("K" + i, 0L); // K0 was the coldest key before the restart
+        }
+        persistence.save(snapshot);
+        persistence.saveEvictionState(coldestFirst);
+
+        CacheStore<String, String> store = new CacheStore<>(11, new LRUCachePolicy<>(), persistence,
+                null, CacheStore.LoadMode.LAZY);
+        assertThat(store.get("K0")).isEqualTo("V0"); // hot now
+        store.set("new", "v", 0);
+        persistence.gate.countDown();
+        awaitLoaded(store);
+
+        store.set("extra", "v", 0); // full: evicts the coldest untouched snapshot key
+        assertThat(store.listKeys()).contains("K0", "new", "extra").doesNotContain("K1");
+        store.shutdown();
+    }
+
+    @Test
+    void testLoaderFailureFaultsInTheRestAndResumesSaves() throws InterruptedException {
+        FailingPersistence persistence = new FailingPersistence();
+        Map<String, String> snapshot = new HashMap<>();
+        for (int i = 0; i < 100; i++) snapshot.put("K" + i, "V" + i);
+        persistence.save(snapshot);
+
+        CacheStore<String, String> store = new CacheStore<>(1000, new LRUCachePolicy<>(), persistence,
+                null, CacheStore.LoadMode.LAZY);
+        awaitLoaded(store);
+
+        LoadProgress progress = store.loadProgress();
+        assertThat(progress.error()).contains("disk error");
+        assertThat(progress.unreadable()).isEqualTo(1); // K13 fails on every read
+        assertThat(store.size()).isEqualTo(99);
+        assertThat(store.get("K42")).isEqualTo("V42");
+
+        store.set("after", "load", 0); // saves are no longer deferred
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!persistence.load().containsKey("after")) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        store.shutdown();
+    }
+
+    @Test
+    void testEagerModeLoadsEverythingUpFront() {
+        InMemoryPersistenceManager<String, String> persistence = new InMemoryPersistenceManager<>();
+        persistence.save(Map.of("a", "1", "b", "2"));
+
+        CacheStore<String, String> store = new CacheStore<>(10, new LRUCachePolicy<>(), persistence);
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.loadProgress()).isEqualTo(LoadProgress.NONE);
+        store.shutdown();
+    }
+
+    private static void awaitLoaded(CacheStore<?, ?> store) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (store.loadProgress().loading()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * The background loader's first read fails, and K13 can never be read.
+     */
+    private static class FailingPersistence extends InMemoryPersistenceManager<String, String> {
+
+        private final AtomicBoolean failed = new AtomicBoolean();
+
+        @Override
+        public SnapshotIndex<String, String> openIndex() {
+            SnapshotIndex<String, String> index = super.openIndex();
+            return new SnapshotIndex<>() {
+                @Override
+                public Set<String> keys() {
+                    return index.keys();
+                }
+
+                @Override
+                public String read(String key) {
+                    if (key.equals("K13") || failed.compareAndSet(false, true)) {
+                        throw new UncheckedIOException(new IOException("disk error"));
+                    }
+                    return index.read(key);
+                }
+            };
+        }
+    }
+
+    /**
+     * The background loader waits for {@link #gate} before its first read.
+     */
+    private static class GatedPersistence extends InMemoryPersistenceManager<String, String> {
+
+        final CountDownLatch gate = new CountDownLatch(1);
+
+        @Override
+        public SnapshotIndex<String, String> openIndex() {
+            SnapshotIndex<String, String> index = super.openIndex();
+            return new SnapshotIndex<>() {
+                @Override
+                public Set<String> keys() {
+                    return index.keys();
+                }
+
+                @Override
+                public String read(String key) {
+                    if (Thread.currentThread().getName().equals("cache-snapshot-loader")) {
+                        try {
+                            gate.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return index.read(key);
+                }
+            };
+        }
+    }
+
+    /**
+     * Reads on the background loader take 0.1ms each, so a load spans several chunks and the test
+     * thread gets the lock in between. Records the order in which entries are read.
+     */
+    private static class SlowPersistence extends InMemoryPersistenceManager<String, String> {
+
+        final List<String> reads = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public SnapshotIndex<String, String> openIndex() {
+            SnapshotIndex<String, String> index = super.openIndex();
+            return new SnapshotIndex<>() {
+                @Override
+                public Set<String> keys() {
+                    return index.keys();
+                }
+
+                @Override
+                public String read(String key) {
+                    if (Thread.currentThread().getName().equals("cache-snapshot-loader")) {
+                        LockSupport.parkNanos(100_000);
+                    }
+                    reads.add(key);
+                    return index.read(key);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.miniredis.store;
+
+import com.example.miniredis.strategy.LRUCachePolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardedCacheStoreTest {
+
+    private final ShardedCacheStore<String, String> store = new ShardedCacheStore<>(4, 1000, LRUCachePolicy::new);
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void testSingleKeyCommandsRouteToOneShard() {
+        int shard = store.shardIndex("A");
+        List<Integer> expected = new ArrayList<>(List.of(0, 0, 0, 0));
+        expected.set(shard, 1);
+
+        store.set("A", "Apple", 0);
+        assertThat(store.stats().get("sizes")).isEqualTo(expected); // only the owning shard grew
+        assertThat(store.get("A")).isEqualTo("Apple");
+
+        store.delete("A");
+        assertThat(store.get("A")).isNull();
+        assertThat(store.stats().get("sizes")).isEqualTo(List.of(0, 0, 0, 0));
+    }
+
+    @Test
+    void testMultiKeyCommandsFanOutAndGather() {
+        Map<String, String> entries = new HashMap<>();
+        for (int i = 0; i < 100; i++) entries.put("K" + i, "V" + i);
+        store.multiSet(entries, 0);
+
+        List<String> keys = new ArrayList<>(entries.keySet());
+        keys.add("missing");
+        assertThat(store.multiGet(keys)).isEqualTo(entries);
+        assertThat(store.size()).isEqualTo(100);
+        assertThat(store.listKeys()).isEqualTo(entries.keySet());
+        // keys spread over every shard
+        assertThat(IntStream.range(0, 100).map(i -> store.shardIndex("K" + i)).distinct().count()).isEqualTo(4);
+
+        assertThat(store.multiDelete(List.of("K1", "K2", "missing"))).isEqualTo(2);
+        assertThat(store.size()).isEqualTo(98);
+    }
+
+    @Test
+    void testEachShardEvictsWithinItsOwnCapacity() {
+        ShardedCacheStore<String, String> small = new ShardedCacheStore<>(2, 10, LRUCachePolicy::new);
+        try {
+            for (int i = 0; i < 100; i++) small.set("K" + i, "V" + i, 0);
+            assertThat(small.size()).isEqualTo(10);
+            assertThat(small.stats().get("sizes")).isEqualTo(List.of(5, 5));
+        } finally {
+            small.shutdown();
+        }
+    }
+
+    @Test
+    void testShardCapacitiesAddUpToMaxCapacity() {
+        ShardedCacheStore<String, String> uneven = new ShardedCacheStore<>(3, 10, LRUCachePolicy::new);
+        try {
+            for (int i = 0; i < 100; i++) uneven.set("K" + i, "V" + i, 0);
+            assertThat(uneven.size()).isEqualTo(10);
+            assertThat(uneven.stats().get("sizes")).isEqualTo(List.of(4, 3, 3));
+        } finally {
+            uneven.shutdown();
+        }
+    }
+
+    @Test
+    void testConcurrentWritersFromManyThreads() throws InterruptedException {
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final int offset = t;
+            Thread writer = new Thread(() -> {
+                for (int i = 0; i < 100; i++) store.set("T" + offset + ":" + i, "v", 0);
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        for (Thread writer : writers) writer.join();
+        assertThat(store.size()).isEqualTo(800);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.miniredis.store;
+
+import com.example.miniredis.persistence.InMemoryPersistenceManager;
+import com.example.miniredis.strategy.EvictionPolicy;
+import com.example.miniredis.strategy.LFUEvictionPolicy;
+import com.example.miniredis.strategy.LRUCachePolicy;
+import com.example.miniredis.strategy.SampledLFUPolicy;
+import com.example.miniredis.strategy.SampledLRUPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WarmRestartTest {
+
+    @Test
+    void testLRUOrderSurvivesRestart() {
+        assertColdestKeyEvictedAfterRestart(LRUCachePolicy::new);
+    }
+
+    @Test
+    void testLFUFrequenciesSurviveRestart() {
+        assertColdestKeyEvictedAfterRestart(LFUEvictionPolicy::new);
+    }
+
+    @Test
+    void testSampledLRUMetadataSurvivesRestart() {
+        assertColdestKeyEvictedAfterRestart(SampledLRUPolicy::new);
+    }
+
+    @Test
+    void testSampledLFUMetadataSurvivesRestart() {
+        // log factor 0 makes every access count, so the frequencies are deterministic
+        assertColdestKeyEvictedAfterRestart(() -> new SampledLFUPolicy<>(5, 0, 1));
+    }
+
+    @Test
+    void testWritesDoNotExportEvictionState() {
+        InMemoryPersistenceManager<String, String> persistence = new InMemoryPersistenceManager<>();
+        CacheStore<String, String> store = new CacheStore<>(5, new SampledLRUPolicy<>(), persistence);
+        store.set("A", "1", 0);
+        store.set("B", "2", 0);
+
+        assertThat(persistence.load()).containsOnlyKeys("A", "B");
+        assertThat(persistence.loadEvictionState()).isEmpty();
+
+        store.saveEvictionState();
+        assertThat(persistence.loadEvictionState()).containsOnlyKeys("A", "B");
+        store.shutdown();
+    }
+
+    /**
+     * K0 is read the most and most recently, K4 the least and least recently: every policy
+     * should pick K4 as the first victim, before and after a restart.
+     */
+    private void assertColdestKeyEvictedAfterRestart(Supplier<EvictionPolicy<String>> policies) {
+        InMemoryPersistenceManager<String, String> persistence = new InMemoryPersistenceManager<>();
+        CacheStore<String, String> before = new CacheStore<>(5, policies.get(), persistence);
+        for (int i = 0; i < 5; i++) before.set("K" + i, "V" + i, 0);
+        for (int i = 4; i >= 0; i--) {
+            for (int reads = 0; reads <= 4 - i; reads++) before.get("K" + i);
+        }
+        before.saveAsync();
+        before.shutdown(); // writes the eviction state
+
+        CacheStore<String, String> after = new CacheStore<>(5, policies.get(), persistence);
+        after.set("NEW", "value", 0);
+        assertThat(after.listKeys()).containsExactlyInAnyOrder("K0", "K1", "K2", "K3", "NEW");
+        after.shutdown();
+    }
+}